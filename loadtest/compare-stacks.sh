@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Runs loadtest/refresh-and-me.js against the servlet build and the reactive build (reactive/),
+# same database, same pool size, and prints both k6 summaries side by side
+# (throughput = http_reqs rate, latency = http_req_duration p99).
+#
+# Needs: k6, jq, both jars (./gradlew bootJar :reactive:bootJar), PostgreSQL from docker-compose,
+# the usual DATABASE_URL / DATABASE_USERNAME / DATABASE_PASSWORD / SECRET_KEY / EXPIRATION / REFRESH_EXPIRATION
+# env, plus R2DBC_URL for the reactive build (e.g. r2dbc:postgresql://localhost:25433/auth_db).
+#
+#   VUS=2000 DURATION=3m loadtest/compare-stacks.sh
+#   VIRTUAL_THREADS_ENABLED=true loadtest/compare-stacks.sh    # servlet side on virtual threads
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SERVLET_JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+REACTIVE_JAR=$(ls reactive/build/libs/*.jar | grep -v plain | head -n 1)
+PORT=${SERVER_PORT:-8080}
+OUT=build/loadtest
+# the servlet run registers the users (the reactive build has no /register), the reactive run reuses them
+RUN_ID=stacks-$(date +%s)
+mkdir -p "$OUT"
+
+run() {
+    local stack=$1 jar=$2
+    # every VU comes from one ip: the per-ip rate limit would measure 429s, not the stack
+    SERVER_PORT=$PORT RATE_LIMIT_ENABLED=${RATE_LIMIT_ENABLED:-false} java ${JAVA_OPTS:-} -jar "$jar" > "$OUT/app-$stack.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    # any HTTP answer means the server is up (actuator endpoints need a token)
+    until curl -s -o /dev/null "http://localhost:$PORT/.well-known/jwks.json"; do sleep 1; done
+
+    k6 run -e BASE_URL="http://localhost:$PORT" -e RUN_ID="$RUN_ID" \
+        --summary-export "$OUT/summary-$stack.json" loadtest/refresh-and-me.js | tee "$OUT/k6-$stack.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run servlet "$SERVLET_JAR"
+run reactive "$REACTIVE_JAR"
+
+for stack in servlet reactive; do
+    printf '%-9s req/s=%s p99=%sms\n' "$stack" \
+        "$(jq '.metrics.http_reqs.rate' "$OUT/summary-$stack.json")" \
+        "$(jq '.metrics.http_req_duration["p(99)"]' "$OUT/summary-$stack.json")"
+done
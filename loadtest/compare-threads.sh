@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Runs loadtest/refresh-and-me.js against the service twice, on platform threads and on virtual threads,
+# with the same pool size, and keeps both k6 summaries side by side (throughput = http_reqs rate,
+# latency = http_req_duration p99).
+#
+# Needs: k6, a built jar (./gradlew bootJar), PostgreSQL from docker-compose, and the usual
+# DATABASE_URL / DATABASE_USERNAME / DATABASE_PASSWORD / SECRET_KEY / EXPIRATION / REFRESH_EXPIRATION env.
+#
+#   VUS=400 DURATION=3m loadtest/compare-threads.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+PORT=${SERVER_PORT:-8080}
+OUT=build/loadtest
+mkdir -p "$OUT"
+
+run() {
+    local mode=$1 virtual=$2
+    # every VU comes from one ip: the per-ip rate limit would measure 429s, not the threads
+    SERVER_PORT=$PORT VIRTUAL_THREADS_ENABLED=$virtual RATE_LIMIT_ENABLED=${RATE_LIMIT_ENABLED:-false} java ${JAVA_OPTS:-} -Djdk.tracePinnedThreads=short \
+        -jar "$JAR" > "$OUT/app-$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    # any HTTP answer means Tomcat is up (actuator endpoints need a token)
+    until curl -s -o /dev/null "http://localhost:$PORT/.well-known/jwks.json"; do sleep 1; done
+
+    k6 run -e BASE_URL="http://localhost:$PORT" -e RUN_ID="$mode-$(date +%s)" \
+        --summary-export "$OUT/summary-$mode.json" loadtest/refresh-and-me.js | tee "$OUT/k6-$mode.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform false
+run virtual true
+
+for mode in platform virtual; do
+    printf '%-9s req/s=%s p99=%sms\n' "$mode" \
+        "$(jq '.metrics.http_reqs.rate' "$OUT/summary-$mode.json")" \
+        "$(jq '.metrics.http_req_duration["p(99)"]' "$OUT/summary-$mode.json")"
+done
+# pinned virtual threads, if any, are printed by -Djdk.tracePinnedThreads in the app log
+echo "pinned thread traces (virtual): $(grep -c '<== monitors' "$OUT/app-virtual.log" || true)"
@@ -0,0 +1,57 @@
+// k6 load test: refresh token rotation (DB write) + /me (JWT filter, profile cache).
+// Each VU registers its own user so rotations of different VUs never retire each other's tokens.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=200 -e DURATION=2m loadtest/refresh-and-me.js
+//
+// See loadtest/compare-threads.sh for the platform vs virtual thread comparison.
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RUN_ID = __ENV.RUN_ID || `${Date.now()}`;
+const PASSWORD = 'Password@123';
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    vus: Number(__ENV.VUS || 200),
+    duration: __ENV.DURATION || '2m',
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+let tokens = null;
+
+function login() {
+    const username = `lt-${RUN_ID}-${__VU}@load.test`;
+    http.post(`${BASE_URL}/api/v1/auth/register`,
+        JSON.stringify({ username, password: PASSWORD, full_name: 'Load Test' }), JSON_HEADERS);
+    const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+        JSON.stringify({ username, password: PASSWORD }), JSON_HEADERS);
+    if (res.status !== 200) {
+        fail(`login failed for ${username}: ${res.status}`);
+    }
+    return res.json('data');
+}
+
+export default function () {
+    if (tokens === null) {
+        tokens = login();
+    }
+
+    const refreshed = http.post(`${BASE_URL}/api/v1/auth/refresh`,
+        JSON.stringify({ refresh_token: tokens.refresh_token }),
+        Object.assign({ tags: { name: 'refresh' } }, JSON_HEADERS));
+    if (!check(refreshed, { 'refresh 200': (r) => r.status === 200 })) {
+        tokens = null;
+        return;
+    }
+    tokens = refreshed.json('data');
+
+    const me = http.get(`${BASE_URL}/api/v1/auth/me`, {
+        headers: { Authorization: `Bearer ${tokens.access_token}` },
+        tags: { name: 'me' },
+    });
+    check(me, { 'me 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,40 @@
+package com.hdbank.auth_service.reactive;
+
+import com.hdbank.auth_service.config.JwtKeyConfig;
+import com.hdbank.auth_service.config.JwtKeyRingReloader;
+import com.hdbank.auth_service.config.PasswordEncoderConfig;
+import com.hdbank.auth_service.controller.JwksController;
+import com.hdbank.auth_service.security.InMemoryLoginAttemptStore;
+import com.hdbank.auth_service.security.LoginThrottle;
+import com.hdbank.auth_service.security.RedisLoginAttemptStore;
+import com.hdbank.auth_service.security.VerifiedTokenCache;
+import com.hdbank.auth_service.service.JwtService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Reactive build of the auth endpoints (WebFlux + R2DBC): login, refresh, logout, /me.
+ * Shares the servlet build's token code and Flyway schema; only this package is component-scanned,
+ * the shared beans are imported explicitly.
+ */
+@SpringBootApplication
+@EnableScheduling
+@Import({
+        JwtKeyConfig.class,
+        JwtKeyRingReloader.class,
+        JwtService.class,
+        VerifiedTokenCache.class,
+        JwksController.class,
+        PasswordEncoderConfig.class,
+        LoginThrottle.class,
+        InMemoryLoginAttemptStore.class,
+        RedisLoginAttemptStore.class
+})
+public class ReactiveAuthServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAuthServiceApplication.class, args);
+    }
+}
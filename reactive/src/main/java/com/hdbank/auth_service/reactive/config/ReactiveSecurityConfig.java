@@ -0,0 +1,175 @@
+package com.hdbank.auth_service.reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hdbank.auth_service.reactive.repository.ReactiveAppUserRepository;
+import com.hdbank.auth_service.reactive.repository.ReactiveRevokedAccessTokenRepository;
+import com.hdbank.auth_service.reactive.security.JwtReactiveAuthenticationManager;
+import com.hdbank.auth_service.reactive.security.ReactiveCustomUserDetailsService;
+import com.hdbank.auth_service.security.AccessTokenDenylist;
+import com.hdbank.auth_service.security.TokenVersionRegistry;
+import com.hdbank.auth_service.security.VerifiedTokenCache;
+import com.hdbank.auth_service.service.JwtService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stateless WebFlux security, same rules as the servlet SecurityConfig:
+ * - login / refresh / jwks public, everything else needs a bearer access token
+ * - a missing, invalid or revoked token leaves the exchange unauthenticated (401 on protected paths)
+ * - login verifies passwords on a bounded, CPU-sized scheduler (password.hashing.*), never on the event loop;
+ *   a full queue is answered with 503
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Slf4j
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            AccessTokenDenylist accessTokenDenylist,
+            TokenVersionRegistry tokenVersionRegistry,
+            ObjectMapper objectMapper
+    ) {
+        // not a bean: the login manager stays the only ReactiveAuthenticationManager in the context
+        AuthenticationWebFilter bearerFilter = new AuthenticationWebFilter(new JwtReactiveAuthenticationManager(
+                jwtService, verifiedTokenCache, accessTokenDenylist, tokenVersionRegistry));
+        bearerFilter.setServerAuthenticationConverter(exchange -> {
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return Mono.empty();
+            }
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(null, authHeader.substring(7)));
+        });
+        // like JwtAuthenticationFilter: carry on unauthenticated, authorization decides
+        bearerFilter.setAuthenticationFailureHandler((webFilterExchange, exception) -> {
+            log.debug("Cannot set user authentication: {}", exception.getMessage());
+            return webFilterExchange.getChain().filter(webFilterExchange.getExchange());
+        });
+        bearerFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(authenticationEntryPoint(objectMapper)))
+                .authorizeExchange(auth -> auth
+                        .pathMatchers(
+                                "/api/v1/auth/login",
+                                "/api/v1/auth/refresh",
+                                "/.well-known/jwks.json")
+                        .permitAll()
+                        .anyExchange()
+                        .authenticated()
+                )
+                .addFilterAt(bearerFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Username / password authentication for login, with the hash upgrade of CustomUserDetailsService.
+     */
+    @Bean
+    public UserDetailsRepositoryReactiveAuthenticationManager loginAuthenticationManager(
+            ReactiveCustomUserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            Scheduler passwordHashingScheduler
+    ) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        manager.setPasswordEncoder(passwordEncoder);
+        manager.setUserDetailsPasswordService(userDetailsService);
+        manager.setScheduler(passwordHashingScheduler);
+        return manager;
+    }
+
+    // threads=0 -> one per CPU, same meaning as PasswordHashingExecutor
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        log.info("Password hashing scheduler: threads={}, queueCapacity={}", poolSize, queueCapacity);
+        return Schedulers.newBoundedElastic(poolSize, queueCapacity, "password-hashing");
+    }
+
+    /**
+     * Password changes made by servlet instances are picked up from app_users every refresh-interval.
+     * The poll runs on the scheduling thread, so blocking on its own query is fine there.
+     */
+    @Bean
+    public TokenVersionRegistry tokenVersionRegistry(
+            ReactiveAppUserRepository userRepository,
+            @Value("${jwt.expiration}") long maxTokenLifetimeMillis,
+            @Value("${jwt.token-version.refresh-interval:PT5S}") Duration refreshInterval
+    ) {
+        return TokenVersionRegistry.polling(
+                since -> userRepository.findTokenVersionChangesSince(since).collectList().block(refreshInterval),
+                Duration.ofMillis(maxTokenLifetimeMillis),
+                refreshInterval);
+    }
+
+    /**
+     * Logouts made by any instance (servlet or reactive) are picked up from revoked_access_tokens
+     * every refresh-interval; same scheduling-thread poll as tokenVersionRegistry.
+     */
+    @Bean
+    public AccessTokenDenylist accessTokenDenylist(
+            ReactiveRevokedAccessTokenRepository revokedAccessTokenRepository,
+            @Value("${jwt.expiration}") long maxTokenLifetimeMillis,
+            @Value("${jwt.denylist.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jwt.denylist.refresh-interval:PT5S}") Duration refreshInterval
+    ) {
+        return AccessTokenDenylist.polling(
+                since -> revokedAccessTokenRepository.findRevocationsSince(since).collectList().block(refreshInterval),
+                Duration.ofMillis(maxTokenLifetimeMillis),
+                expectedRevocations,
+                falsePositiveRate,
+                refreshInterval);
+    }
+
+    private static ServerAuthenticationEntryPoint authenticationEntryPoint(ObjectMapper objectMapper) {
+        return (exchange, authException) -> {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("message", "Unauthorized: " + authException.getMessage());
+            body.put("timestamp", Instant.now());
+            body.put("path", exchange.getRequest().getPath().value());
+
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return Mono.fromCallable(() -> exchange.getResponse().bufferFactory()
+                            .wrap(objectMapper.writeValueAsBytes(body)))
+                    .flatMap(buffer -> exchange.getResponse().writeWith(Mono.just(buffer)));
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.hdbank.auth_service.reactive.controller;
+
+import com.hdbank.auth_service.dto.UserInfo;
+import com.hdbank.auth_service.dto.request.LoginRequest;
+import com.hdbank.auth_service.dto.request.RefreshTokenRequest;
+import com.hdbank.auth_service.dto.response.ApiDataResponse;
+import com.hdbank.auth_service.dto.response.LoginResponse;
+import com.hdbank.auth_service.reactive.security.ReactiveClientIp;
+import com.hdbank.auth_service.reactive.security.ReactiveCustomUserDetailsService;
+import com.hdbank.auth_service.reactive.service.ReactiveAuthService;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import com.hdbank.auth_service.security.JwtClaims;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same paths, request and response bodies as AuthController, non-blocking end to end.
+ * Register and change-password stay on the servlet build.
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+    private final ReactiveCustomUserDetailsService userDetailsService;
+    private final ReactiveClientIp clientIp;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<ApiDataResponse<LoginResponse>>> login(
+            @Valid @RequestBody LoginRequest request,
+            ServerHttpRequest httpRequest
+    ) {
+        return authService.login(request, clientIp.of(httpRequest),
+                        httpRequest.getHeaders().getFirst(HttpHeaders.USER_AGENT))
+                .map(response -> ResponseEntity.ok(ApiDataResponse.success("Login successful", response)));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<ApiDataResponse<LoginResponse>>> refreshToken(
+            @Valid @RequestBody RefreshTokenRequest request,
+            ServerHttpRequest httpRequest
+    ) {
+        return authService.refreshToken(request.getRefreshToken(), clientIp.of(httpRequest),
+                        httpRequest.getHeaders().getFirst(HttpHeaders.USER_AGENT))
+                .map(response -> ResponseEntity.ok(ApiDataResponse.success("Token refreshed successfully", response)));
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<ApiDataResponse<Void>>> logout(
+            @Valid @RequestBody RefreshTokenRequest request,
+            Authentication authentication
+    ) {
+        return authService.logout(request.getRefreshToken(), accessTokenClaims(authentication))
+                .thenReturn(ResponseEntity.ok(ApiDataResponse.success("Logout successful", null)));
+    }
+
+    @GetMapping("/me")
+    public Mono<ResponseEntity<ApiDataResponse<UserInfo>>> getCurrentUser(Authentication authentication) {
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        return userDetailsService.findById(principal.getId())
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found: " + principal.getId())))
+                .map(user -> UserInfo.builder()
+                        .id(user.getId())
+                        .username(user.getUsername())
+                        .fullName(user.getFullName())
+                        .enabled(user.isEnabled())
+                        .roles(user.getRoleNames())
+                        .build())
+                .map(userInfo -> ResponseEntity.ok(ApiDataResponse.success("User retrieved successfully", userInfo)));
+    }
+
+    // set as credentials by JwtReactiveAuthenticationManager
+    private JwtClaims accessTokenClaims(Authentication authentication) {
+        return authentication != null && authentication.getCredentials() instanceof JwtClaims claims
+                ? claims
+                : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hdbank.auth_service.reactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("app_roles")
+public record AppRoleRow(
+        @Id Long id,
+        String name,
+        String description,
+        @Column("is_deleted") boolean deleted
+) {
+}
@@ -0,0 +1,20 @@
+package com.hdbank.auth_service.reactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read model of app_users (columns used by the auth endpoints).
+ */
+@Table("app_users")
+public record AppUserRow(
+        @Id Long id,
+        String username,
+        String passwordHash,
+        String fullName,
+        boolean enabled,
+        int tokenVersion,
+        @Column("is_deleted") boolean deleted
+) {
+}
@@ -0,0 +1,24 @@
+package com.hdbank.auth_service.reactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Read model of refresh_tokens; writes go through the single-statement queries of
+ * ReactiveRefreshTokenRepository.
+ */
+@Table("refresh_tokens")
+public record RefreshTokenRow(
+        @Id Long id,
+        Long userId,
+        byte[] tokenHash,
+        Instant issuedAt,
+        Instant expiresAt,
+        boolean revoked,
+        Instant revokedAt,
+        @Column("is_deleted") boolean deleted
+) {
+}
@@ -0,0 +1,17 @@
+package com.hdbank.auth_service.reactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Read model of revoked_access_tokens; written by ReactiveRevokedAccessTokenRepository#insert.
+ */
+@Table("revoked_access_tokens")
+public record RevokedAccessTokenRow(
+        @Id String tokenId,
+        Instant expiresAt,
+        Instant revokedAt
+) {
+}
@@ -0,0 +1,117 @@
+package com.hdbank.auth_service.reactive.exception;
+
+import com.hdbank.auth_service.exception.ErrorResponse;
+import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
+import com.hdbank.auth_service.exception.LoginThrottledException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Same status codes and bodies as GlobalExceptionHandler for the reactive endpoints.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponse> handleTokenNotFoundException(
+            InvalidRefreshTokenException e,
+            ServerHttpRequest request
+    ) {
+        return error(HttpStatus.UNAUTHORIZED, "Token Not Found", e.getMessage(), request);
+    }
+
+    // BadCredentials (wrong password, or unknown user: findByUsername is empty), disabled user
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationException(
+            AuthenticationException e,
+            ServerHttpRequest request
+    ) {
+        String message = e instanceof BadCredentialsException ? "Invalid username or password" : e.getMessage();
+        return error(HttpStatus.UNAUTHORIZED, "Unauthorized", message, request);
+    }
+
+    // password hashing scheduler queue full
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(
+            RejectedExecutionException e,
+            ServerHttpRequest request
+    ) {
+        log.warn("Password hashing queue full, rejecting request");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                        "Authentication service is busy, please retry shortly", request));
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleLoginThrottled(
+            LoginThrottledException e,
+            ServerHttpRequest request
+    ) {
+        // whole seconds, rounded up: retrying at Retry-After must not hit the same limit again
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", e.getMessage(), request));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult()
+                .getAllErrors()
+                .forEach(error -> {
+                    if (error instanceof FieldError fieldError) {
+                        errors.put(fieldError.getField(), error.getDefaultMessage());
+                    } else {
+                        errors.put(error.getObjectName(), error.getDefaultMessage());
+                    }
+                });
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception e, ServerHttpRequest request) {
+        log.error("Unexpected error: ", e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", "An unexpected error occurred", request);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(
+            HttpStatus status,
+            String error,
+            String message,
+            ServerHttpRequest request
+    ) {
+        return ResponseEntity.status(status).body(errorResponse(status, error, message, request));
+    }
+
+    private static ErrorResponse errorResponse(
+            HttpStatus status,
+            String error,
+            String message,
+            ServerHttpRequest request
+    ) {
+        return ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(request.getPath().value())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.hdbank.auth_service.reactive.repository;
+
+import com.hdbank.auth_service.reactive.entity.AppRoleRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveAppRoleRepository extends R2dbcRepository<AppRoleRow, Long> {
+
+    // app_user_role has no audit columns since V6: a row is an assignment
+    @Query("""
+            SELECT r.name
+            FROM app_roles r
+            JOIN app_user_role ur ON ur.role_id = r.id
+            WHERE ur.user_id = :userId
+                AND r.is_deleted = false
+            """)
+    Flux<String> findRoleNamesByUserId(@Param("userId") Long userId);
+}
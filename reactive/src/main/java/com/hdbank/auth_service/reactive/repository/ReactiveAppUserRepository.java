@@ -0,0 +1,39 @@
+package com.hdbank.auth_service.reactive.repository;
+
+import com.hdbank.auth_service.reactive.entity.AppUserRow;
+import com.hdbank.auth_service.security.TokenVersionChange;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+public interface ReactiveAppUserRepository extends R2dbcRepository<AppUserRow, Long> {
+
+    Mono<AppUserRow> findByIdAndDeletedFalse(Long id);
+
+    Mono<AppUserRow> findByUsernameAndDeletedFalse(String username);
+
+    @Modifying
+    @Query("""
+            UPDATE app_users
+                SET password_hash = :passwordHash,
+                    updated_at = NOW(),
+                    updated_by = 'SYSTEM'
+            WHERE username = :username
+                AND is_deleted = false
+            """)
+    Mono<Integer> updatePasswordHash(@Param("username") String username, @Param("passwordHash") String passwordHash);
+
+    @Query("""
+            SELECT id AS user_id, token_version, token_version_changed_at AS changed_at
+            FROM app_users
+            WHERE token_version_changed_at > :since
+            """)
+    Flux<TokenVersionChange> findTokenVersionChangesSince(@Param("since") Instant since);
+}
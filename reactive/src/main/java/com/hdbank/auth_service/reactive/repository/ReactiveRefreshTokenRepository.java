@@ -0,0 +1,91 @@
+package com.hdbank.auth_service.reactive.repository;
+
+import com.hdbank.auth_service.reactive.entity.RefreshTokenRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Same single-statement writes as the servlet build's RefreshTokenRepository (PostgreSQL),
+ * so every write is atomic without a reactive transaction.
+ */
+@Repository
+public interface ReactiveRefreshTokenRepository extends R2dbcRepository<RefreshTokenRow, Long> {
+
+    /**
+     * Retire every live token of the owner of :tokenHash (revoking that token itself) and insert
+     * :newTokenHash for the same user. Emits the user id, or completes empty when the token is unknown,
+     * revoked, expired or already rotated.
+     */
+    @Query("""
+            WITH retired AS (
+                UPDATE refresh_tokens
+                    SET is_deleted = true,
+                        deleted_at = :now,
+                        deleted_by = 'SYSTEM',
+                        revoked = revoked OR token_hash = :tokenHash,
+                        revoked_at = CASE WHEN token_hash = :tokenHash THEN :now ELSE revoked_at END
+                WHERE is_deleted = false
+                    AND user_id = (
+                        SELECT user_id FROM refresh_tokens
+                        WHERE token_hash = :tokenHash
+                            AND is_deleted = false
+                            AND revoked = false
+                            AND expires_at > :now)
+                RETURNING user_id, token_hash
+            )
+            INSERT INTO refresh_tokens (user_id, token_hash, issued_at, expires_at, revoked, ip_address, user_agent,
+                                        created_at, created_by, is_deleted)
+            SELECT user_id, :newTokenHash, :now, :expiresAt, false, :ipAddress, :userAgent, :now, 'SYSTEM', false
+            FROM retired
+            WHERE retired.token_hash = :tokenHash
+            RETURNING user_id
+            """)
+    Mono<Long> rotate(@Param("tokenHash") byte[] tokenHash,
+                      @Param("newTokenHash") byte[] newTokenHash,
+                      @Param("now") Instant now,
+                      @Param("expiresAt") Instant expiresAt,
+                      @Param("ipAddress") String ipAddress,
+                      @Param("userAgent") String userAgent);
+
+    /**
+     * Login: retire the user's live tokens and insert :tokenHash. Emits the new row id.
+     */
+    @Query("""
+            WITH retired AS (
+                UPDATE refresh_tokens
+                    SET is_deleted = true,
+                        deleted_at = :now,
+                        deleted_by = 'SYSTEM'
+                WHERE user_id = :userId
+                    AND is_deleted = false
+            )
+            INSERT INTO refresh_tokens (user_id, token_hash, issued_at, expires_at, revoked, ip_address, user_agent,
+                                        created_at, created_by, is_deleted)
+            VALUES (:userId, :tokenHash, :now, :expiresAt, false, :ipAddress, :userAgent, :now, 'SYSTEM', false)
+            RETURNING id
+            """)
+    Mono<Long> issueForUser(@Param("userId") Long userId,
+                            @Param("tokenHash") byte[] tokenHash,
+                            @Param("now") Instant now,
+                            @Param("expiresAt") Instant expiresAt,
+                            @Param("ipAddress") String ipAddress,
+                            @Param("userAgent") String userAgent);
+
+    @Modifying
+    @Query("""
+            UPDATE refresh_tokens
+                SET revoked = true,
+                    revoked_at = :now,
+                    updated_at = :now,
+                    updated_by = 'SYSTEM'
+            WHERE token_hash = :tokenHash
+                AND is_deleted = false
+            """)
+    Mono<Integer> revokeByTokenHash(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+}
@@ -0,0 +1,35 @@
+package com.hdbank.auth_service.reactive.repository;
+
+import com.hdbank.auth_service.reactive.entity.RevokedAccessTokenRow;
+import com.hdbank.auth_service.security.AccessTokenRevokedEvent;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+public interface ReactiveRevokedAccessTokenRepository extends R2dbcRepository<RevokedAccessTokenRow, String> {
+
+    // logging out twice with the same token is not an error
+    @Modifying
+    @Query("""
+            INSERT INTO revoked_access_tokens (token_id, expires_at, revoked_at)
+            VALUES (:tokenId, :expiresAt, :revokedAt)
+            ON CONFLICT (token_id) DO NOTHING
+            """)
+    Mono<Integer> insert(@Param("tokenId") String tokenId,
+                         @Param("expiresAt") Instant expiresAt,
+                         @Param("revokedAt") Instant revokedAt);
+
+    @Query("""
+            SELECT token_id, expires_at
+            FROM revoked_access_tokens
+            WHERE revoked_at > :since
+            """)
+    Flux<AccessTokenRevokedEvent> findRevocationsSince(@Param("since") Instant since);
+}
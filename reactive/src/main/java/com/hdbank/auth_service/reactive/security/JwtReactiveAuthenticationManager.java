@@ -0,0 +1,62 @@
+package com.hdbank.auth_service.reactive.security;
+
+import com.hdbank.auth_service.security.AccessTokenDenylist;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import com.hdbank.auth_service.security.JwtClaims;
+import com.hdbank.auth_service.security.TokenVersionRegistry;
+import com.hdbank.auth_service.security.VerifiedTokenCache;
+import com.hdbank.auth_service.service.JwtService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bearer access tokens, same checks as JwtAuthenticationFilter: one verification (optionally cached),
+ * then the in-memory denylist and token version. CPU only, no I/O, so it runs on the calling thread.
+ * Authenticated with the CustomUserDetails principal and the JwtClaims as credentials.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        return Mono.fromCallable(() -> authenticate((String) authentication.getCredentials()));
+    }
+
+    private Authentication authenticate(String token) {
+        JwtClaims claims;
+        try {
+            claims = verifiedTokenCache.get(token, jwtService::verifyToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Invalid access token", e);
+        }
+        if (accessTokenDenylist.isRevoked(claims.tokenId())) {
+            log.debug("Rejected revoked access token {} of user: {}", claims.tokenId(), claims.username());
+            throw new BadCredentialsException("Access token has been revoked");
+        }
+        if (!tokenVersionRegistry.isCurrent(claims.userId(), claims.tokenVersion())) {
+            log.debug("Rejected access token with stale version {} of user: {}",
+                    claims.tokenVersion(), claims.username());
+            throw new BadCredentialsException("Access token has been revoked");
+        }
+        CustomUserDetails userDetails = CustomUserDetails.fromJwtClaims(
+                claims.userId(),
+                claims.username(),
+                claims.roles(),
+                claims.tokenVersion(),
+                true
+        );
+        return UsernamePasswordAuthenticationToken.authenticated(userDetails, claims, userDetails.getAuthorities());
+    }
+}
@@ -0,0 +1,60 @@
+package com.hdbank.auth_service.reactive.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reactive counterpart of ClientIp: the remote address, with X-Forwarded-For honoured only when the
+ * connecting peer is a trusted proxy (client-ip.trusted-proxies, same TRUSTED_PROXIES regex as the
+ * servlet build). Hops are walked right to left like Tomcat's RemoteIpValve, so a value the client put
+ * in front of the header is never picked. Reactor Netty's and ForwardedHeaderTransformer's forwarded
+ * handling trust any peer, so neither is enabled.
+ */
+@Component
+public class ReactiveClientIp {
+
+    private final Pattern trustedProxies;
+
+    public ReactiveClientIp(
+            @Value("${client-ip.trusted-proxies:127\\.0\\.0\\.1|0:0:0:0:0:0:0:1}") String trustedProxies
+    ) {
+        this.trustedProxies = Pattern.compile(trustedProxies);
+    }
+
+    public String of(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        String remote = remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+        if (!isTrusted(remote)) {
+            return remote;
+        }
+        List<String> hops = new ArrayList<>();
+        for (String header : request.getHeaders().getOrEmpty("X-Forwarded-For")) {
+            for (String hop : header.split(",")) {
+                if (!hop.isBlank()) {
+                    hops.add(hop.trim());
+                }
+            }
+        }
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            if (!isTrusted(hops.get(i))) {
+                return hops.get(i);
+            }
+        }
+        return hops.isEmpty() ? remote : hops.getFirst();
+    }
+
+    private boolean isTrusted(String address) {
+        return trustedProxies.matcher(address).matches();
+    }
+}
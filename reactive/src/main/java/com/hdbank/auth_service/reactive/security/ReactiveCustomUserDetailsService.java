@@ -0,0 +1,68 @@
+package com.hdbank.auth_service.reactive.security;
+
+import com.hdbank.auth_service.reactive.entity.AppUserRow;
+import com.hdbank.auth_service.reactive.repository.ReactiveAppRoleRepository;
+import com.hdbank.auth_service.reactive.repository.ReactiveAppUserRepository;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of CustomUserDetailsService: user row and role names over R2DBC,
+ * outdated password hashes upgraded after a successful login.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCustomUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final ReactiveAppUserRepository appUserRepository;
+    private final ReactiveAppRoleRepository appRoleRepository;
+
+    /**
+     * Empty for an unknown user, as the ReactiveUserDetailsService contract expects: the login manager turns
+     * that into the same BadCredentialsException as a wrong password, so usernames cannot be probed.
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return appUserRepository.findByUsernameAndDeletedFalse(username)
+                .flatMap(this::toUserDetails);
+    }
+
+    /**
+     * newPassword is already encoded.
+     */
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        return appUserRepository.updatePasswordHash(user.getUsername(), newPassword)
+                .doOnNext(updated -> log.info("Password hash upgraded for user: {}", user.getUsername()))
+                .then(findByUsername(user.getUsername()))
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException(
+                        "User not found with username" + user.getUsername())));
+    }
+
+    public Mono<CustomUserDetails> findById(Long userId) {
+        return appUserRepository.findByIdAndDeletedFalse(userId)
+                .flatMap(this::toUserDetails);
+    }
+
+    private Mono<CustomUserDetails> toUserDetails(AppUserRow user) {
+        return appRoleRepository.findRoleNamesByUserId(user.id())
+                .collectList()
+                .map(roleNames -> CustomUserDetails.of(
+                        user.id(),
+                        user.username(),
+                        user.passwordHash(),
+                        user.fullName(),
+                        user.enabled(),
+                        roleNames,
+                        user.tokenVersion()
+                ));
+    }
+}
@@ -0,0 +1,141 @@
+package com.hdbank.auth_service.reactive.service;
+
+import com.hdbank.auth_service.dto.UserInfo;
+import com.hdbank.auth_service.dto.request.LoginRequest;
+import com.hdbank.auth_service.dto.response.LoginResponse;
+import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
+import com.hdbank.auth_service.reactive.repository.ReactiveRefreshTokenRepository;
+import com.hdbank.auth_service.reactive.repository.ReactiveRevokedAccessTokenRepository;
+import com.hdbank.auth_service.reactive.security.ReactiveCustomUserDetailsService;
+import com.hdbank.auth_service.security.AccessTokenRevokedEvent;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import com.hdbank.auth_service.security.JwtClaims;
+import com.hdbank.auth_service.security.LoginThrottle;
+import com.hdbank.auth_service.security.OpaqueTokens;
+import com.hdbank.auth_service.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+
+/**
+ * Reactive AuthService (login, refresh, logout) on the refresh_tokens table.
+ * Every write is one statement (ReactiveRefreshTokenRepository), so no reactive transaction is needed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAuthService {
+
+    private final ReactiveAuthenticationManager loginAuthenticationManager;
+    private final ReactiveCustomUserDetailsService userDetailsService;
+    private final ReactiveRefreshTokenRepository refreshTokenRepository;
+    private final ReactiveRevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final JwtService jwtService;
+    private final LoginThrottle loginThrottle;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${jwt.expiration}")
+    private Long jwtExpiration;
+
+    @Value("${jwt.refresh-expiration}")
+    private Long refreshTokenExpiration;
+
+    /**
+     * Same LoginThrottle as AuthService: a throttled attempt is answered 429 before the user lookup and the
+     * password check; the store (memory or redis) may block, so its calls run on boundedElastic.
+     */
+    public Mono<LoginResponse> login(LoginRequest request, String ipAddress, String userAgent) {
+        String username = request.getUsername();
+        return throttle(() -> loginThrottle.checkAllowed(username, ipAddress))
+                .then(Mono.defer(() -> loginAuthenticationManager.authenticate(
+                        UsernamePasswordAuthenticationToken.unauthenticated(username, request.getPassword()))))
+                .onErrorResume(AuthenticationException.class, e ->
+                        throttle(() -> loginThrottle.recordFailure(username, ipAddress)).then(Mono.error(e)))
+                .flatMap(authentication -> throttle(() -> loginThrottle.recordSuccess(username))
+                        .thenReturn((CustomUserDetails) authentication.getPrincipal()))
+                .flatMap(principal -> {
+                    Instant now = Instant.now();
+                    String refreshToken = OpaqueTokens.generate();
+                    return refreshTokenRepository.issueForUser(
+                                    principal.getId(),
+                                    OpaqueTokens.hash(refreshToken),
+                                    now,
+                                    now.plusMillis(refreshTokenExpiration),
+                                    ipAddress,
+                                    userAgent)
+                            .thenReturn(loginResponse(principal, refreshToken));
+                });
+    }
+
+    /**
+     * Revoke the presented token, retire the user's other live tokens and issue a new one (one statement).
+     */
+    public Mono<LoginResponse> refreshToken(String refreshToken, String ipAddress, String userAgent) {
+        Instant now = Instant.now();
+        String newToken = OpaqueTokens.generate();
+        return refreshTokenRepository.rotate(
+                        OpaqueTokens.hash(refreshToken),
+                        OpaqueTokens.hash(newToken),
+                        now,
+                        now.plusMillis(refreshTokenExpiration),
+                        ipAddress,
+                        userAgent)
+                .switchIfEmpty(Mono.error(() ->
+                        new InvalidRefreshTokenException("Refresh token is invalid, revoked or expired")))
+                .flatMap(userDetailsService::findById)
+                .switchIfEmpty(Mono.error(() -> new InvalidRefreshTokenException("Refresh token owner not found")))
+                .map(principal -> loginResponse(principal, newToken));
+    }
+
+    /**
+     * Revoke the access token used to log out (when the request carried one), then the refresh token.
+     * Like AuthService: the access token is revoked (here and, through revoked_access_tokens, on every other
+     * instance) even when the refresh token is unknown or already rotated.
+     */
+    public Mono<Void> logout(String refreshToken, JwtClaims accessToken) {
+        return revokeAccessToken(accessToken)
+                .then(Mono.defer(() -> refreshTokenRepository.revokeByTokenHash(OpaqueTokens.hash(refreshToken), Instant.now())))
+                .filter(revoked -> revoked > 0)
+                .switchIfEmpty(Mono.error(() -> new InvalidRefreshTokenException("Refresh token not found")))
+                .then();
+    }
+
+    private Mono<Void> revokeAccessToken(JwtClaims accessToken) {
+        if (accessToken == null || accessToken.tokenId() == null) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> eventPublisher.publishEvent(AccessTokenRevokedEvent.of(accessToken)))
+                .then(revokedAccessTokenRepository.insert(accessToken.tokenId(), accessToken.expiresAt(), Instant.now()))
+                .then();
+    }
+
+    private static Mono<Void> throttle(Runnable call) {
+        return Mono.fromRunnable(call).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    private LoginResponse loginResponse(CustomUserDetails principal, String refreshToken) {
+        UserInfo userInfo = UserInfo.builder()
+                .id(principal.getId())
+                .username(principal.getUsername())
+                .fullName(principal.getFullName())
+                .enabled(principal.isEnabled())
+                .roles(principal.getRoleNames())
+                .build();
+        return LoginResponse.builder()
+                .accessToken(jwtService.generateAccessToken(principal))
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(jwtExpiration / 1000)
+                .userInfo(userInfo)
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.hdbank.auth_service.reactive;
+
+import com.hdbank.auth_service.security.PasswordEncoders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login, refresh rotation, /me and logout against the reactive build on a real PostgreSQL
+ * (Flyway migrations of the servlet build). Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DisplayName("Reactive auth endpoints")
+class ReactiveAuthIntegrationTest {
+
+    private static final String USERNAME = "reactive.user";
+    private static final String PASSWORD = "Password@123";
+    private static final ParameterizedTypeReference<Map<String, Object>> DATA_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getFirstMappedPort() + "/" + postgres.getDatabaseName());
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    // after the context started, so Flyway already created the schema
+    @BeforeEach
+    void createUser() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             PreparedStatement insertUser = connection.prepareStatement("""
+                     INSERT INTO app_users (username, password_hash, full_name, enabled, created_by)
+                     VALUES (?, ?, 'Reactive User', true, 'TEST')
+                     ON CONFLICT (username) DO NOTHING
+                     """);
+             PreparedStatement insertRole = connection.prepareStatement("""
+                     INSERT INTO app_user_role (user_id, role_id)
+                     SELECT u.id, r.id FROM app_users u, app_roles r
+                     WHERE u.username = ? AND r.name = 'USER'
+                     ON CONFLICT DO NOTHING
+                     """)) {
+            insertUser.setString(1, USERNAME);
+            insertUser.setString(2, PasswordEncoders.bcrypt(4).encode(PASSWORD));
+            insertUser.executeUpdate();
+            insertRole.setString(1, USERNAME);
+            insertRole.executeUpdate();
+        }
+    }
+
+    @Test
+    @DisplayName("Should log in, rotate the refresh token, read /me and log out")
+    void testLoginRefreshMeLogout() {
+        Map<String, Object> login = post("/api/v1/auth/login", Map.of("username", USERNAME, "password", PASSWORD))
+                .expectStatus().isOk()
+                .expectBody(DATA_TYPE)
+                .returnResult().getResponseBody();
+        String refreshToken = token(login, "refresh_token");
+
+        Map<String, Object> refreshed = post("/api/v1/auth/refresh", Map.of("refresh_token", refreshToken))
+                .expectStatus().isOk()
+                .expectBody(DATA_TYPE)
+                .returnResult().getResponseBody();
+        String accessToken = token(refreshed, "access_token");
+        String newRefreshToken = token(refreshed, "refresh_token");
+        assertThat(newRefreshToken).isNotEqualTo(refreshToken);
+
+        // rotated: the old token is dead
+        post("/api/v1/auth/refresh", Map.of("refresh_token", refreshToken))
+                .expectStatus().isUnauthorized();
+
+        webTestClient.get().uri("/api/v1/auth/me")
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.username").isEqualTo(USERNAME)
+                .jsonPath("$.data.roles[0]").isEqualTo("USER");
+
+        webTestClient.post().uri("/api/v1/auth/logout")
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("refresh_token", newRefreshToken))
+                .exchange()
+                .expectStatus().isOk();
+
+        // the access token used to log out is denied from now on
+        webTestClient.get().uri("/api/v1/auth/me")
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Should reject a wrong password with 401")
+    void testRejectsWrongPassword() {
+        post("/api/v1/auth/login", Map.of("username", USERNAME, "password", "wrong-password"))
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Unauthorized")
+                .jsonPath("$.message").isEqualTo("Invalid username or password");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown username with the same 401 as a wrong password")
+    void testRejectsUnknownUsername() {
+        post("/api/v1/auth/login", Map.of("username", "no-such-user", "password", "wrong-password"))
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Unauthorized")
+                .jsonPath("$.message").isEqualTo("Invalid username or password");
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a username reached its failure limit")
+    void testThrottlesRepeatedFailures() {
+        Map<String, String> attempt = Map.of("username", "throttled.user", "password", "wrong-password");
+        for (int i = 0; i < 5; i++) {
+            post("/api/v1/auth/login", attempt).expectStatus().isUnauthorized();
+        }
+
+        post("/api/v1/auth/login", attempt)
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists("Retry-After")
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Too Many Requests");
+    }
+
+    @Test
+    @DisplayName("Should reject /me without a token")
+    void testMeRequiresToken() {
+        webTestClient.get().uri("/api/v1/auth/me")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, Map<String, String> body) {
+        return webTestClient.post().uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String token(Map<String, Object> response, String name) {
+        return (String) ((Map<String, Object>) response.get("data")).get(name);
+    }
+}
@@ -0,0 +1,107 @@
+package com.hdbank.auth_service.reactive.security;
+
+import com.hdbank.auth_service.security.AccessTokenDenylist;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import com.hdbank.auth_service.security.JwtClaims;
+import com.hdbank.auth_service.security.JwtKeyRing;
+import com.hdbank.auth_service.security.JwtSigningKey;
+import com.hdbank.auth_service.security.TokenVersionChange;
+import com.hdbank.auth_service.security.TokenVersionRegistry;
+import com.hdbank.auth_service.security.VerifiedTokenCache;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtReactiveAuthenticationManager")
+class JwtReactiveAuthenticationManagerTest {
+
+    private static final String SECRET = "test-secret-key-for-unit-tests-minimum-256-bits-long-string";
+
+    private JwtService jwtService;
+    private AccessTokenDenylist denylist;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private JwtReactiveAuthenticationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(
+                JwtKeyRing.of(JwtSigningKey.hmac("test", SECRET)), 3600000L, new SimpleMeterRegistry());
+        denylist = AccessTokenDenylist.polling(
+                since -> List.of(), Duration.ofHours(1), 1000, 0.01, Duration.ofSeconds(5));
+        tokenVersionRegistry = TokenVersionRegistry.polling(
+                since -> List.of(), Duration.ofHours(1), Duration.ofSeconds(5));
+        manager = new JwtReactiveAuthenticationManager(
+                jwtService, new VerifiedTokenCache(false, 10, new SimpleMeterRegistry()), denylist, tokenVersionRegistry);
+    }
+
+    @Test
+    @DisplayName("Should authenticate a valid token with the claims as credentials")
+    void testAuthenticatesValidToken() {
+        String token = jwtService.generateAccessToken(user(0));
+
+        StepVerifier.create(manager.authenticate(bearer(token)))
+                .assertNext(authentication -> {
+                    assertThat(authentication.isAuthenticated()).isTrue();
+                    assertThat(authentication.getPrincipal()).isInstanceOf(CustomUserDetails.class);
+                    assertThat(authentication.getName()).isEqualTo("reactive.user");
+                    assertThat(authentication.getCredentials()).isInstanceOf(JwtClaims.class);
+                    assertThat(authentication.getAuthorities())
+                            .extracting(Object::toString)
+                            .containsExactly("ROLE_USER");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed token")
+    void testRejectsMalformedToken() {
+        StepVerifier.create(manager.authenticate(bearer("not.a.jwt")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token")
+    void testRejectsRevokedToken() {
+        String token = jwtService.generateAccessToken(user(0));
+        JwtClaims claims = jwtService.verifyToken(token);
+        denylist.revoke(claims.tokenId(), claims.expiresAt());
+
+        StepVerifier.create(manager.authenticate(bearer(token)))
+                .expectError(BadCredentialsException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject a token minted before the user's token version bump")
+    void testRejectsStaleTokenVersion() {
+        String token = jwtService.generateAccessToken(user(0));
+        tokenVersionRegistry.onTokenVersionChanged(new TokenVersionChange(1L, 1, Instant.now()));
+
+        StepVerifier.create(manager.authenticate(bearer(token)))
+                .expectError(BadCredentialsException.class)
+                .verify();
+        StepVerifier.create(manager.authenticate(bearer(jwtService.generateAccessToken(user(1)))))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private static CustomUserDetails user(int tokenVersion) {
+        return CustomUserDetails.of(1L, "reactive.user", null, "Reactive User", true, List.of("USER"), tokenVersion);
+    }
+
+    private static UsernamePasswordAuthenticationToken bearer(String token) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(null, token);
+    }
+}
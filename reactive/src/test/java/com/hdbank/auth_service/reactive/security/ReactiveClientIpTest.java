@@ -0,0 +1,37 @@
+package com.hdbank.auth_service.reactive.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReactiveClientIp")
+class ReactiveClientIpTest {
+
+    private final ReactiveClientIp clientIp = new ReactiveClientIp("10\\.0\\.0\\.\\d+");
+
+    @Test
+    @DisplayName("Should ignore X-Forwarded-For from an untrusted peer")
+    void testIgnoresForwardedHeaderFromUntrustedPeer() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress("198.51.100.4", 443))
+                .header("X-Forwarded-For", "203.0.113.7")
+                .build();
+
+        assertThat(clientIp.of(request)).isEqualTo("198.51.100.4");
+    }
+
+    @Test
+    @DisplayName("Should take the rightmost untrusted hop behind a trusted proxy")
+    void testSkipsForgedLeftmostHop() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 443))
+                .header("X-Forwarded-For", "203.0.113.7, 198.51.100.4, 10.0.0.1")
+                .build();
+
+        assertThat(clientIp.of(request)).isEqualTo("198.51.100.4");
+    }
+}
@@ -0,0 +1,130 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling cost of the authentication filter:
+ * - the legacy extractor sequence (one verification per call) vs. the single-pass {@link JwtService#verifyToken}
+ * - building the principal from verified claims ({@link CustomUserDetails#fromJwtClaims})
+ * - the whole filter (denylist, token version, principal, security context) with a no-op chain,
+ *   with and without the verification cache, and for a request without a token
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final long EXPIRATION = 3600000L;
+
+    private JwtService jwtService;
+
+    private String token;
+
+    private JwtClaims claims;
+
+    private JwtAuthenticationFilter filter;
+
+    private JwtAuthenticationFilter cachingFilter;
+
+    private MockHttpServletRequest bearerRequest;
+
+    private MockHttpServletRequest anonymousRequest;
+
+    private MockHttpServletResponse response;
+
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(
+                JwtKeyRing.of(JwtSigningKey.hmac(null, "benchmark-secret-key-minimum-256-bits-long-string-value")),
+                EXPIRATION,
+                new SimpleMeterRegistry()
+        );
+
+        AppUser user = AppUser.builder()
+                .id(1L)
+                .username("benchmark.user")
+                .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+                .build();
+        token = jwtService.generateAccessToken(user);
+        claims = jwtService.verifyToken(token);
+
+        filter = newFilter(new VerifiedTokenCache(false, 0, new SimpleMeterRegistry()));
+        cachingFilter = newFilter(new VerifiedTokenCache(true, 10_000, new SimpleMeterRegistry()));
+
+        bearerRequest = new MockHttpServletRequest("GET", "/api/v1/auth/me");
+        bearerRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/v1/auth/me");
+        response = new MockHttpServletResponse();
+        chain = (request, response) -> { };
+    }
+
+    private JwtAuthenticationFilter newFilter(VerifiedTokenCache verifiedTokenCache) {
+        return new JwtAuthenticationFilter(
+                jwtService,
+                verifiedTokenCache,
+                AccessTokenDenylist.polling(since -> List.of(), Duration.ofMillis(EXPIRATION), 100_000, 0.01,
+                        Duration.ofSeconds(5)),
+                TokenVersionRegistry.polling(since -> List.of(), Duration.ofMillis(EXPIRATION), Duration.ofSeconds(5)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Benchmark
+    public void legacyExtractorsPerRequest(Blackhole blackhole) {
+        blackhole.consume(jwtService.extractUserId(token));
+        blackhole.consume(jwtService.extractUsername(token));
+        blackhole.consume(jwtService.extractRoles(token));
+        blackhole.consume(jwtService.isTokenValid(token));
+    }
+
+    @Benchmark
+    public JwtClaims singlePassPerRequest() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public CustomUserDetails principalFromClaims() {
+        return CustomUserDetails.fromJwtClaims(
+                claims.userId(), claims.username(), claims.roles(), claims.tokenVersion(), true);
+    }
+
+    @Benchmark
+    public Object filterWithBearerToken() throws Exception {
+        return runFilter(filter, bearerRequest);
+    }
+
+    @Benchmark
+    public Object filterWithCachedVerification() throws Exception {
+        return runFilter(cachingFilter, bearerRequest);
+    }
+
+    @Benchmark
+    public Object filterWithoutToken() throws Exception {
+        return runFilter(filter, anonymousRequest);
+    }
+
+    private Object runFilter(JwtAuthenticationFilter jwtFilter, MockHttpServletRequest request) throws Exception {
+        try {
+            jwtFilter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify cost per signing algorithm, to pick jwt.signing.algorithm with data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtSigningAlgorithmBenchmark {
+
+    @Param({"HS256", "RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtService jwtService;
+
+    private AppUser user;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtSigningAlgorithm signingAlgorithm = JwtSigningAlgorithm.fromJwaName(algorithm);
+        JwtSigningKey signingKey = signingAlgorithm.isAsymmetric()
+                ? JwtSigningKey.asymmetric(signingAlgorithm, null, signingAlgorithm.generateKeyPair())
+                : JwtSigningKey.hmac(null, "benchmark-secret-key-minimum-256-bits-long-string-value");
+        jwtService = new JwtService(JwtKeyRing.of(signingKey), 3600000L, new SimpleMeterRegistry());
+
+        user = AppUser.builder()
+                .id(1L)
+                .username("benchmark.user")
+                .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+                .build();
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public JwtClaims verify() {
+        return jwtService.verifyToken(token);
+    }
+}
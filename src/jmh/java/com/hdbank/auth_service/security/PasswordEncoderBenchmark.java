@@ -0,0 +1,50 @@
+package com.hdbank.auth_service.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hash and check cost per algorithm and work factor (password.encoder.*): one encode per register /
+ * password change, one matches per login. The defaults are bcrypt-12, argon2-19456 and pbkdf2-600000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "benchmark-password-123";
+
+    @Param({"bcrypt-10", "bcrypt-12", "bcrypt-14", "argon2-19456", "argon2-65536", "pbkdf2-310000", "pbkdf2-600000"})
+    public String encoder;
+
+    private PasswordEncoder passwordEncoder;
+
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = encoder.split("-");
+        int workFactor = Integer.parseInt(parts[1]);
+        passwordEncoder = switch (parts[0]) {
+            case PasswordEncoders.BCRYPT -> PasswordEncoders.bcrypt(workFactor);
+            case PasswordEncoders.ARGON2 -> PasswordEncoders.argon2(workFactor, 2, 1);
+            case PasswordEncoders.PBKDF2 -> PasswordEncoders.pbkdf2(workFactor);
+            default -> throw new IllegalArgumentException("Unknown encoder: " + encoder);
+        };
+        hash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hdbank.auth_service.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost RateLimitFilter adds ahead of authentication: route match plus one token bucket
+ * (admitted, with a hot and with a spread-out principal set), a route with an overall bucket, and a rejection.
+ * Set threads in the jmh block of build.gradle to see CAS contention on the shared route bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitFilterBenchmark {
+
+    private static final int PRINCIPALS = 10_000;
+
+    private RateLimiter rateLimiter;
+    private RateLimiter rejectingLimiter;
+    private String[] principals;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        // limits far above what one benchmark thread can send: every request is admitted
+        rateLimiter = new RateLimiter(100_000, Duration.ofMinutes(10), RateLimitRules.parse(Map.of(
+                "default.capacity", "1000000000",
+                "default.refill-per-second", "1000000000",
+                "routes.refresh.pattern", "/api/v1/auth/refresh",
+                "routes.refresh.capacity", "1000000000",
+                "routes.refresh.refill-per-second", "1000000000",
+                "routes.refresh.route-capacity", "1000000000",
+                "routes.refresh.route-refill-per-second", "1000000000"
+        )), System::nanoTime);
+        rejectingLimiter = new RateLimiter(100_000, Duration.ofMinutes(10), RateLimitRules.parse(Map.of(
+                "default.capacity", "1",
+                "default.refill-per-second", "0.001"
+        )), System::nanoTime);
+        rejectingLimiter.tryAcquire(rejectingLimiter.match("/api/v1/auth/me"), "t:exhausted");
+
+        principals = new String[PRINCIPALS];
+        for (int i = 0; i < PRINCIPALS; i++) {
+            principals[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long admitHotPrincipal() {
+        return rateLimiter.tryAcquire(rateLimiter.match("/api/v1/auth/me"), "t:benchmark-token-signature-tail");
+    }
+
+    @Benchmark
+    public long admitSpreadPrincipals(Cursor cursor) {
+        String principal = principals[cursor.next++ % PRINCIPALS];
+        return rateLimiter.tryAcquire(rateLimiter.match("/api/v1/auth/me"), principal);
+    }
+
+    @Benchmark
+    public long admitWithRouteBucket() {
+        return rateLimiter.tryAcquire(rateLimiter.match("/api/v1/auth/refresh"), "ip:10.0.0.1");
+    }
+
+    @Benchmark
+    public long reject() {
+        return rejectingLimiter.tryAcquire(rejectingLimiter.match("/api/v1/auth/me"), "t:exhausted");
+    }
+}
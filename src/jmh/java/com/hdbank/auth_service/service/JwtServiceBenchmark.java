@@ -0,0 +1,91 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.security.JwtClaims;
+import com.hdbank.auth_service.security.JwtKeyRing;
+import com.hdbank.auth_service.security.JwtSigningKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign / verify cost with key + parser precomputed at startup vs. the previous
+ * per-call {@code Keys.hmacShaKeyFor(...)} and {@code Jwts.parser()...build()}.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-minimum-256-bits-long-string-value";
+
+    private static final long EXPIRATION = 3600000L;
+
+    private JwtService jwtService;
+
+    private AppUser user;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(
+                JwtKeyRing.of(JwtSigningKey.hmac(null, SECRET)), EXPIRATION, new SimpleMeterRegistry());
+        user = AppUser.builder()
+                .id(1L)
+                .username("benchmark.user")
+                .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+                .build();
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String signPrecomputedKey() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String signPerCallKey() {
+        Date now = new Date();
+        return Jwts.builder()
+                .claims(Map.of(
+                        "userId", user.getId(),
+                        "username", user.getUsername(),
+                        "roles", List.of("ROLE_USER")))
+                .subject(user.getUsername())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public JwtClaims verifyReusableParser() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.isTokenValid(token);
+    }
+
+    @Benchmark
+    public Claims verifyPerCallParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
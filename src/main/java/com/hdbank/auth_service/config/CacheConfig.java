@@ -0,0 +1,56 @@
+package com.hdbank.auth_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process, bounded caches (Caffeine):
+ * - roles: AppRole by name (AppRoleRepository#findByNameAndDeletedFalse)
+ * - userRoles: role names by user id (UserRoleService)
+ * - userInfo: /me profile by user id (UserService#getUserProfile), sized separately
+ * Roles rarely change: entries expire after cache.roles.ttl as a safety net for edits made
+ * directly in the database; a user's entries are evicted on UserRolesChangedEvent (UserRoleService).
+ * Declared here so the Redis client on the classpath is never picked as the cache provider.
+ * Stats are recorded: hit/miss counts are published as cache.gets{cache=...,result=hit|miss}.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String ROLES = "roles";
+    public static final String USER_ROLES = "userRoles";
+    public static final String USER_INFO = "userInfo";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.roles.max-size:100000}") long maxSize,
+            @Value("${cache.roles.ttl:PT10M}") Duration ttl,
+            @Value("${cache.user-info.max-size:100000}") long userInfoMaxSize,
+            @Value("${cache.user-info.ttl:PT5M}") Duration userInfoTtl
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ROLES, USER_ROLES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        // empty lookups (role not found) are not cached
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(USER_INFO, Caffeine.newBuilder()
+                .maximumSize(userInfoMaxSize)
+                .expireAfterWrite(userInfoTtl)
+                .recordStats()
+                .build());
+        log.info("Role caches: maxSize={}, ttl={}; user info cache: maxSize={}, ttl={}",
+                maxSize, ttl, userInfoMaxSize, userInfoTtl);
+        return cacheManager;
+    }
+}
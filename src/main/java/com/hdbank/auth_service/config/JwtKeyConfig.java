@@ -0,0 +1,71 @@
+package com.hdbank.auth_service.config;
+
+import com.hdbank.auth_service.security.JwtKeyRing;
+import com.hdbank.auth_service.security.JwtKeyRingFile;
+import com.hdbank.auth_service.security.JwtSigningAlgorithm;
+import com.hdbank.auth_service.security.JwtSigningKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Access token signing keys.
+ * - jwt.keyring.location set: key ring file, reloaded at runtime by JwtKeyRingReloader
+ * - otherwise a single key:
+ *   - HS256 (default): shared jwt.secret
+ *   - RS256 / ES256 / EdDSA: PEM key pair from jwt.signing.private-key / jwt.signing.public-key,
+ *     public key published at /.well-known/jwks.json
+ */
+@Configuration
+@Slf4j
+public class JwtKeyConfig {
+
+    @Bean
+    public JwtKeyRing jwtKeyRing(
+            @Value("${jwt.keyring.location:}") String keyRingLocation,
+            @Value("${jwt.signing.algorithm:HS256}") String algorithmName,
+            @Value("${jwt.signing.key-id:}") String keyId,
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.signing.private-key:}") String privateKeyLocation,
+            @Value("${jwt.signing.public-key:}") String publicKeyLocation
+    ) {
+        if (!keyRingLocation.isBlank()) {
+            JwtKeyRingFile.Contents contents = JwtKeyRingFile.load(Path.of(keyRingLocation));
+            log.info("Loaded jwt key ring from {}: active kid={}, {} key(s)",
+                    keyRingLocation, contents.activeKeyId(), contents.keys().size());
+            return new JwtKeyRing(contents.activeKeyId(), contents.keys());
+        }
+        return JwtKeyRing.of(singleSigningKey(algorithmName, keyId, jwtSecret, privateKeyLocation, publicKeyLocation));
+    }
+
+    private JwtSigningKey singleSigningKey(
+            String algorithmName,
+            String keyId,
+            String jwtSecret,
+            String privateKeyLocation,
+            String publicKeyLocation
+    ) {
+        JwtSigningAlgorithm algorithm = JwtSigningAlgorithm.fromJwaName(algorithmName);
+        if (!algorithm.isAsymmetric()) {
+            return JwtSigningKey.hmac(keyId, jwtSecret);
+        }
+
+        if (privateKeyLocation.isBlank() || publicKeyLocation.isBlank()) {
+            // Dev/test only: tokens stop verifying after a restart
+            log.warn("No key pair configured for {}, generating an ephemeral one", algorithm.jwaName());
+            return JwtSigningKey.asymmetric(algorithm, keyId, algorithm.generateKeyPair());
+        }
+
+        JwtSigningKey signingKey = JwtSigningKey.fromPem(
+                algorithm,
+                keyId,
+                Path.of(privateKeyLocation),
+                Path.of(publicKeyLocation)
+        );
+        log.info("Loaded {} signing key kid={}", algorithm.jwaName(), signingKey.keyId());
+        return signingKey;
+    }
+}
@@ -0,0 +1,57 @@
+package com.hdbank.auth_service.config;
+
+import com.hdbank.auth_service.security.JwtKeyRing;
+import com.hdbank.auth_service.security.JwtKeyRingFile;
+import com.hdbank.auth_service.security.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Polls the key ring file and swaps the ring when it changes, so keys are added and retired
+ * without a restart. A broken file is logged and ignored; the current ring stays in place.
+ */
+@Component
+@ConditionalOnExpression("!'${jwt.keyring.location:}'.isBlank()")
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyRingReloader {
+
+    private final JwtKeyRing jwtKeyRing;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${jwt.keyring.location}")
+    private Path keyRingLocation;
+
+    private FileTime lastModified;
+
+    @Scheduled(
+            initialDelayString = "${jwt.keyring.reload-interval:PT30S}",
+            fixedDelayString = "${jwt.keyring.reload-interval:PT30S}"
+    )
+    public void reloadIfChanged() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(keyRingLocation);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            JwtKeyRingFile.Contents contents = JwtKeyRingFile.load(keyRingLocation);
+            jwtKeyRing.replace(contents.activeKeyId(), contents.keys());
+            // cached verifications may belong to a key that was just retired
+            verifiedTokenCache.invalidateAll();
+            lastModified = modified;
+            log.info("[KEYRING] Reloaded jwt key ring: active kid={}, {} key(s)",
+                    contents.activeKeyId(), contents.keys().size());
+        } catch (IOException | RuntimeException e) {
+            log.error("[KEYRING] Cannot reload jwt key ring from {}: {}", keyRingLocation, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hdbank.auth_service.config;
+
+import com.hdbank.auth_service.security.HashingPoolPasswordEncoder;
+import com.hdbank.auth_service.security.PasswordEncoders;
+import com.hdbank.auth_service.security.TimedPasswordEncoder;
+import com.hdbank.auth_service.service.PasswordHashingExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Password hashing algorithm and work factors.
+ * - password.encoder.id: algorithm for new hashes (bcrypt | argon2 | pbkdf2)
+ * - the other algorithms stay registered so existing hashes keep verifying;
+ *   outdated hashes are rehashed on successful login (CustomUserDetailsService#updatePassword)
+ * - tune the work factors with GET /api/v1/admin/password-hashing/calibration
+ * - every encode / matches is timed (TimedPasswordEncoder)
+ * - servlet build: encode / matches run on the bounded hashing pool (HashingPoolPasswordEncoder);
+ *   the reactive build has no PasswordHashingExecutor and hashes on its own scheduler
+ */
+@Configuration
+@Slf4j
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${password.encoder.id:bcrypt}") String idForEncode,
+            @Value("${password.encoder.bcrypt.strength:12}") int bcryptStrength,
+            @Value("${password.encoder.argon2.memory-kib:19456}") int argon2MemoryKib,
+            @Value("${password.encoder.argon2.iterations:2}") int argon2Iterations,
+            @Value("${password.encoder.argon2.parallelism:1}") int argon2Parallelism,
+            @Value("${password.encoder.pbkdf2.iterations:600000}") int pbkdf2Iterations,
+            MeterRegistry meterRegistry,
+            ObjectProvider<PasswordHashingExecutor> passwordHashingExecutor
+    ) {
+        Map<String, PasswordEncoder> encoders = Map.of(
+                PasswordEncoders.BCRYPT, PasswordEncoders.bcrypt(bcryptStrength),
+                PasswordEncoders.ARGON2, PasswordEncoders.argon2(argon2MemoryKib, argon2Iterations, argon2Parallelism),
+                PasswordEncoders.PBKDF2, PasswordEncoders.pbkdf2(pbkdf2Iterations)
+        );
+        log.info("Password encoder: {} (bcrypt strength={}, argon2 m={}KiB t={} p={}, pbkdf2 iterations={})",
+                idForEncode, bcryptStrength, argon2MemoryKib, argon2Iterations, argon2Parallelism, pbkdf2Iterations);
+        PasswordEncoder encoder = new TimedPasswordEncoder(PasswordEncoders.delegating(idForEncode, encoders), meterRegistry);
+        PasswordHashingExecutor executor = passwordHashingExecutor.getIfAvailable();
+        return executor == null ? encoder : new HashingPoolPasswordEncoder(encoder, executor);
+    }
+}
@@ -0,0 +1,52 @@
+package com.hdbank.auth_service.config;
+
+import com.hdbank.auth_service.security.RateLimitRules;
+import com.hdbank.auth_service.security.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Polls the rate limit rules file and swaps the rules when it changes, so limits are tuned
+ * without a restart. A broken file is logged and ignored; the current rules stay in place.
+ */
+@Component
+@ConditionalOnExpression("!'${rate-limit.location:}'.isBlank()")
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitRulesReloader {
+
+    private final RateLimiter rateLimiter;
+
+    @Value("${rate-limit.location}")
+    private Path rulesLocation;
+
+    private FileTime lastModified;
+
+    @Scheduled(
+            initialDelayString = "${rate-limit.reload-interval:PT30S}",
+            fixedDelayString = "${rate-limit.reload-interval:PT30S}"
+    )
+    public void reloadIfChanged() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(rulesLocation);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            RateLimitRules rules = RateLimitRules.load(rulesLocation);
+            rateLimiter.replaceRules(rules);
+            lastModified = modified;
+            log.info("[RATE-LIMIT] Reloaded rate limit rules: {} route rule(s)", rules.routes().size());
+        } catch (IOException | RuntimeException e) {
+            log.error("[RATE-LIMIT] Cannot reload rate limit rules from {}: {}", rulesLocation, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.hdbank.auth_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly refresh_tokens partitions (V10) rolling:
+ * - creates the partitions for the next months ahead of time, so rows never land in refresh_tokens_default
+ * - drops a partition once every token in it expired more than the retention window ago
+ *   (one DROP TABLE instead of deleting rows)
+ * PostgreSQL only; enabled with refresh-token.partitioning.enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class RefreshTokenPartitionMaintenance {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("refresh_tokens_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int premadeMonths;
+    private final Duration retention;
+    private final Clock clock;
+
+    public RefreshTokenPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            @Value("${refresh-token.partitioning.premade-months:3}") int premadeMonths,
+            @Value("${refresh-token.purge.retention:P30D}") Duration retention
+    ) {
+        this(jdbcTemplate, premadeMonths, retention, Clock.systemUTC());
+    }
+
+    RefreshTokenPartitionMaintenance(JdbcTemplate jdbcTemplate, int premadeMonths, Duration retention, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.premadeMonths = premadeMonths;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${refresh-token.partitioning.cron:0 30 1 * * *}") // 1:30AM Daily
+    public void maintainPartitions() {
+        // each step on its own: a failed create (e.g. rows in refresh_tokens_default overlapping the new
+        // range) must not stop retention
+        try {
+            createUpcomingPartitions();
+        } catch (RuntimeException e) {
+            log.error("[PARTITION] Creating upcoming refresh_tokens partitions failed: {}", e.getMessage(), e);
+        }
+        try {
+            dropExpiredPartitions();
+        } catch (RuntimeException e) {
+            log.error("[PARTITION] Dropping expired refresh_tokens partitions failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= premadeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                    + " PARTITION OF refresh_tokens FOR VALUES FROM ('" + month.atDay(1)
+                    + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+        }
+    }
+
+    void dropExpiredPartitions() {
+        Instant cutoff = clock.instant().minus(retention);
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            Instant upperBound = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (!upperBound.isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("[PARTITION] Dropped {} (tokens expired before {})", partition, upperBound);
+            }
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'refresh_tokens'::regclass
+                ORDER BY c.relname
+                """, String.class);
+    }
+
+    static String partitionName(YearMonth month) {
+        return "refresh_tokens_p" + month.format(NAME_FORMAT);
+    }
+}
@@ -1,21 +1,31 @@
 package com.hdbank.auth_service.config;
 
-import com.hdbank.auth_service.service.RefreshTokenService;
+import com.hdbank.auth_service.repository.RevokedAccessTokenRepository;
+import com.hdbank.auth_service.service.RefreshTokenPurgeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ScheduledTask {
 
-    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenPurgeService refreshTokenPurgeService;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
 
-    @Scheduled(cron = "0 0 2 * * *") // 2AM Daily
+    @Scheduled(cron = "${refresh-token.purge.cron:0 0 2 * * *}") // 2AM Daily
     public void cleanupExpiredTokens() {
         log.info("[CRON] Cleanup expired tokens");
-        refreshTokenService.deleteExpiredTokens();
+        refreshTokenPurgeService.purge();
+    }
+
+    @Scheduled(cron = "${jwt.denylist.cleanup-cron:0 15 * * * *}") // Hourly
+    public void cleanupExpiredAccessTokenRevocations() {
+        int deleted = revokedAccessTokenRepository.deleteExpired(Instant.now());
+        log.info("[CRON] Deleted {} expired access token revocations", deleted);
     }
 }
@@ -0,0 +1,67 @@
+package com.hdbank.auth_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true): Spring Boot then runs Tomcat requests
+ * and @Scheduled tasks on virtual threads. Request threads are no longer bounded by
+ * server.tomcat.threads.max, so database access is capped here instead: the Hikari DataSource is
+ * wrapped in a ConnectionLimitingDataSource with one permit per pooled connection.
+ * Password hashing stays on its own CPU-sized platform pool (PasswordHashingExecutor).
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("Virtual threads enabled: capping database access at {} concurrent connections",
+                            hikari.getMaximumPoolSize());
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimitingDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionLimitingDataSource limited;
+            try {
+                if (!dataSource.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                    return;
+                }
+                limited = dataSource.unwrap(ConnectionLimitingDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("auth.db.connection.permits.available", limited,
+                            ConnectionLimitingDataSource::getAvailablePermits)
+                    .description("Database connection permits not in use")
+                    .register(registry);
+            Gauge.builder("auth.db.connection.permits.waiting", limited,
+                            ConnectionLimitingDataSource::getWaitingThreads)
+                    .description("Threads waiting for a database connection permit")
+                    .register(registry);
+        };
+    }
+}
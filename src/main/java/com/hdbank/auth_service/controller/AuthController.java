@@ -7,6 +7,10 @@ import com.hdbank.auth_service.dto.request.RefreshTokenRequest;
 import com.hdbank.auth_service.dto.request.RegisterRequest;
 import com.hdbank.auth_service.dto.response.ApiDataResponse;
 import com.hdbank.auth_service.dto.response.LoginResponse;
+import com.hdbank.auth_service.security.ClientIp;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import com.hdbank.auth_service.security.JwtClaims;
+import com.hdbank.auth_service.security.LoginThrottle;
 import com.hdbank.auth_service.service.AuthService;
 import com.hdbank.auth_service.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +19,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +28,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -32,6 +38,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/register")
     @Operation(summary = "User register", description = "Create user and return jwt tokens")
@@ -50,8 +57,10 @@ public class AuthController {
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpServletRequest
             ) {
-        String ipAddress = getClientIP(httpServletRequest);
+        String ipAddress = ClientIp.of(httpServletRequest);
         String userAgent = httpServletRequest.getHeader("User-Agent");
+        // throttled attempts are answered 429 here, without taking a hashing slot
+        loginThrottle.checkAllowed(request.getUsername(), ipAddress);
 
         LoginResponse response = authService.login(request, ipAddress, userAgent);
         return ResponseEntity.ok(ApiDataResponse.success("Login successful", response));
@@ -63,7 +72,7 @@ public class AuthController {
             @Valid @RequestBody RefreshTokenRequest request,
             HttpServletRequest httpRequest
     ) {
-        String ipAddress = getClientIP(httpRequest);
+        String ipAddress = ClientIp.of(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
 
         LoginResponse response = authService
@@ -73,19 +82,33 @@ public class AuthController {
 
     @PostMapping("/logout")
     @SecurityRequirement(name = "bearerAuth")
-    @Operation(summary = "User logout", description = "Revoke refresh token")
+    @Operation(summary = "User logout", description = "Revoke refresh token and the current access token")
     public ResponseEntity<ApiDataResponse<Void>> logout(
-            @Valid @RequestBody RefreshTokenRequest request) {
-        authService.logout(request.getRefreshToken());
+            @Valid @RequestBody RefreshTokenRequest request,
+            Authentication authentication) {
+        authService.logout(request.getRefreshToken(), accessTokenClaims(authentication));
         return ResponseEntity.ok(ApiDataResponse.success("Logout successful", null));
     }
 
     @GetMapping("/me")
     @SecurityRequirement(name = "bearerAuth")
-    @Operation(summary = "Get current user", description = "Get authenticated user information")
-    public ResponseEntity<ApiDataResponse<UserInfo>> getCurrentUser(Authentication authentication) {
-        UserInfo userInfo = userService.getUserInfo(authentication.getName());
-        return ResponseEntity.ok(ApiDataResponse.success("User retrieved successfully", userInfo));
+    @Operation(
+            summary = "Get current user",
+            description = "Get authenticated user information; send If-None-Match with the last ETag to get 304 when unchanged"
+    )
+    public ResponseEntity<ApiDataResponse<UserInfo>> getCurrentUser(
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        UserService.UserProfile profile = userService.getUserProfile(principal.getId());
+        // unchanged profile: 304 without building or serializing the body
+        if (webRequest.checkNotModified(profile.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(profile.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(profile.etag())
+                .body(ApiDataResponse.success("User retrieved successfully", profile.userInfo()));
     }
 
     @PutMapping("/change-password")
@@ -102,11 +125,10 @@ public class AuthController {
         return ResponseEntity.ok(ApiDataResponse.success("Password changed successfully", null));
     }
 
-    private String getClientIP(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
-        }
-        return xfHeader.split(",")[0];
+    // set as credentials by JwtAuthenticationFilter
+    private JwtClaims accessTokenClaims(Authentication authentication) {
+        return authentication != null && authentication.getCredentials() instanceof JwtClaims claims
+                ? claims
+                : null;
     }
 }
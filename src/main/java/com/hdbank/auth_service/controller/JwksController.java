@@ -0,0 +1,67 @@
+package com.hdbank.auth_service.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hdbank.auth_service.service.JwtService;
+import io.jsonwebtoken.security.PublicJwk;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the access token verification keys so resource servers can verify tokens offline.
+ * The body is serialized here and its SHA-256 is the ETag, so any change of key material, algorithm
+ * or kid changes the tag and If-None-Match revalidation answers 304 only for an identical key set.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "Public keys for access token verification")
+public class JwksController {
+
+    private final JwtService jwtService;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${jwt.jwks.max-age:PT1H}")
+    private Duration maxAge;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "JSON Web Key Set", description = "Public keys used to sign access tokens")
+    public ResponseEntity<byte[]> jwks() throws JsonProcessingException {
+        // sorted by kid: every instance serializes the same ring to the same bytes and the same ETag
+        List<PublicJwk<?>> keys = jwtService.getPublicJwks().stream()
+                .sorted(Comparator.comparing(PublicJwk::getId))
+                .toList();
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", keys));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(maxAge)
+                        .cachePublic()
+                        .staleWhileRevalidate(maxAge))
+                .eTag(sha256ETag(body))
+                .body(body);
+    }
+
+    private static String sha256ETag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hdbank.auth_service.controller;
+
+import com.hdbank.auth_service.dto.response.ApiDataResponse;
+import com.hdbank.auth_service.dto.response.PasswordHashCalibrationResponse;
+import com.hdbank.auth_service.service.PasswordHashCalibrator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/admin/password-hashing")
+@RequiredArgsConstructor
+@Tag(name = "Password hashing", description = "Password hash cost tuning")
+public class PasswordHashingController {
+
+    private final PasswordHashCalibrator passwordHashCalibrator;
+
+    @GetMapping("/calibration")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+            summary = "Calibrate password hashing",
+            description = "Measure hash time on this node and recommend work factors for a target latency (10-2000 ms)"
+    )
+    public ResponseEntity<ApiDataResponse<PasswordHashCalibrationResponse>> calibrate(
+            @RequestParam(defaultValue = "250") long targetMillis
+    ) {
+        PasswordHashCalibrationResponse response = passwordHashCalibrator.calibrate(Duration.ofMillis(targetMillis));
+        return ResponseEntity.ok(ApiDataResponse.success("Calibration completed", response));
+    }
+}
@@ -0,0 +1,47 @@
+package com.hdbank.auth_service.controller;
+
+import com.hdbank.auth_service.dto.request.RevokeRefreshTokensRequest;
+import com.hdbank.auth_service.dto.response.ApiDataResponse;
+import com.hdbank.auth_service.dto.response.RevokeRefreshTokensResponse;
+import com.hdbank.auth_service.service.RefreshTokenStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/refresh-tokens")
+@RequiredArgsConstructor
+@Tag(name = "Refresh tokens", description = "Refresh token administration")
+public class RefreshTokenAdminController {
+
+    private final RefreshTokenStore refreshTokenStore;
+
+    @PostMapping("/revocations")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+            summary = "Revoke refresh tokens of users",
+            description = "Revoke every live refresh token of the given users (up to 10000 per request)"
+    )
+    public ResponseEntity<ApiDataResponse<RevokeRefreshTokensResponse>> revoke(
+            @Valid @RequestBody RevokeRefreshTokensRequest request
+    ) {
+        List<Long> userIds = request.getUserIds().stream().distinct().toList();
+        long revoked = refreshTokenStore.revokeAllByUserIds(userIds);
+        RevokeRefreshTokensResponse response = RevokeRefreshTokensResponse.builder()
+                .users(userIds.size())
+                .revokedTokens(revoked)
+                .build();
+        return ResponseEntity.ok(ApiDataResponse.success("Refresh tokens revoked", response));
+    }
+}
@@ -0,0 +1,22 @@
+package com.hdbank.auth_service.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokeRefreshTokensRequest {
+
+    @NotEmpty(message = "user ids are required")
+    @Size(max = 10000, message = "At most 10000 user ids per request")
+    @JsonProperty("user_ids")
+    private List<@NotNull Long> userIds;
+}
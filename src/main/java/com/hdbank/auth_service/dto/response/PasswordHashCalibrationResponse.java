@@ -0,0 +1,54 @@
+package com.hdbank.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashCalibrationResponse {
+
+    @JsonProperty("target_millis")
+    private long targetMillis;
+
+    @JsonProperty("available_processors")
+    private int availableProcessors;
+
+    @JsonProperty("current_encoder")
+    private String currentEncoder;
+
+    @JsonProperty("current_millis")
+    private double currentMillis;
+
+    /**
+     * Recommended settings per algorithm id (bcrypt, argon2, pbkdf2).
+     */
+    private Map<String, Recommendation> recommendations;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recommendation {
+
+        /**
+         * Properties to set, e.g. password.encoder.bcrypt.strength=12.
+         */
+        private Map<String, Object> properties;
+
+        @JsonProperty("measured_millis")
+        private double measuredMillis;
+
+        /**
+         * False when even the minimum safe work factor is slower than the target.
+         */
+        @JsonProperty("within_target")
+        private boolean withinTarget;
+    }
+}
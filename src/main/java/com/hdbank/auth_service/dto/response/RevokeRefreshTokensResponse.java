@@ -0,0 +1,19 @@
+package com.hdbank.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokeRefreshTokensResponse {
+
+    private int users;
+
+    @JsonProperty("revoked_tokens")
+    private long revokedTokens;
+}
@@ -3,6 +3,7 @@ package com.hdbank.auth_service.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -32,7 +33,18 @@ public class AppUser extends BaseEntity{
     @Column(name = "enabled")
     private boolean enabled = true;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /**
+     * Embedded in access tokens; bumping it invalidates every access token minted before.
+     */
+    @Builder.Default
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
+    @Column(name = "token_version_changed_at")
+    private Instant tokenVersionChangedAt;
+
+    // role names are read through UserRoleService (cached), not from this collection
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "app_user_role",
             joinColumns = @JoinColumn(name = "user_id"),
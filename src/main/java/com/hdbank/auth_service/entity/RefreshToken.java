@@ -22,7 +22,16 @@ public class RefreshToken extends BaseEntity{
     @JoinColumn(name = "user_id", nullable = false)
     private AppUser user;
 
-    @Column(name = "token", nullable = false)
+    /**
+     * SHA-256 of the token (see OpaqueTokens); the raw token is never stored.
+     */
+    @Column(name = "token_hash", nullable = false, length = 32)
+    private byte[] tokenHash;
+
+    /**
+     * Raw token, only known right after it is issued (returned to the client once).
+     */
+    @Transient
     private String token;
 
     @Column(name = "issued_at", nullable = false)
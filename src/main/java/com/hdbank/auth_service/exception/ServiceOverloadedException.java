@@ -0,0 +1,7 @@
+package com.hdbank.auth_service.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,8 @@
 package com.hdbank.auth_service.repository;
 
+import com.hdbank.auth_service.config.CacheConfig;
 import com.hdbank.auth_service.entity.AppRole;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +11,8 @@ import java.util.Optional;
 @Repository
 public interface AppRoleRepository extends JpaRepository<AppRole, Long> {
 
+    // a role found once is served from the cache (register looks up USER on every signup)
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "#name", unless = "#result == null")
     Optional<AppRole> findByNameAndDeletedFalse(String name);
 
 }
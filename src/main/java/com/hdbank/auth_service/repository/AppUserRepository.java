@@ -1,17 +1,34 @@
 package com.hdbank.auth_service.repository;
 
 import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.security.TokenVersionChange;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
 
+    // roles are not joined: they come from UserRoleService (cached)
     Optional<AppUser> findByIdAndDeletedFalse(Long id);
 
     Optional<AppUser> findByUsernameAndDeletedFalse(String username);
 
+    // soft-deleted roles grant nothing; same predicate as ReactiveAppRoleRepository#findRoleNamesByUserId
+    @Query("SELECT r.name FROM AppUser u JOIN u.roles r WHERE u.id = :userId AND r.deleted = false")
+    List<String> findRoleNamesByUserId(@Param("userId") Long userId);
+
     boolean existsByUsernameAndDeletedFalse(String username);
+
+    @Query("""
+            SELECT new com.hdbank.auth_service.security.TokenVersionChange(u.id, u.tokenVersion, u.tokenVersionChangedAt)
+            FROM AppUser u
+            WHERE u.tokenVersionChangedAt > :since
+            """)
+    List<TokenVersionChange> findTokenVersionChangesSince(@Param("since") Instant since);
 }
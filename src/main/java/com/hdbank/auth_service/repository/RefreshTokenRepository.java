@@ -1,6 +1,7 @@
 package com.hdbank.auth_service.repository;
 
 import com.hdbank.auth_service.entity.RefreshToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,9 +15,7 @@ import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByTokenAndDeletedFalse(String token);
-
-    List<RefreshToken> findByUser_IdAndDeletedFalse(Long userId);
+    Optional<RefreshToken> findByTokenHashAndDeletedFalse(byte[] tokenHash);
 
     @Modifying
     @Query("""
@@ -31,16 +30,173 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
                             @Param("deletedAt") Instant deletedAt,
                             @Param("deletedBy") String deletedBy);
 
+    /**
+     * Revoke and soft-delete every live token of the user in one statement; returns the number of tokens.
+     */
     @Modifying
     @Query("""
-            UPDATE RefreshToken t\s
-            SET t.deleted = true,\s
-                t.deletedAt = :deletedAt,\s
-                t.deletedBy = :deletedBy
-            WHERE t.expiresAt < :expiresDate\s
+            UPDATE RefreshToken t
+                SET t.revoked = true,
+                    t.revokedAt = :now,
+                    t.deleted = true,
+                    t.deletedAt = :now,
+                    t.deletedBy = :deletedBy
+            WHERE t.user.id = :userId
                 AND t.deleted = false
-           \s""")
-    void softDeleteExpiredTokens(@Param("expiresDate") Instant expiresDate,
-                                @Param("deletedAt") Instant deletedAt,
-                                @Param("deletedBy") String deletedBy);
+            """)
+    int revokeByUserId(@Param("userId") Long userId,
+                       @Param("now") Instant now,
+                       @Param("deletedBy") String deletedBy);
+
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t
+                SET t.revoked = true,
+                    t.revokedAt = :now,
+                    t.deleted = true,
+                    t.deletedAt = :now,
+                    t.deletedBy = :deletedBy
+            WHERE t.user.id IN :userIds
+                AND t.deleted = false
+            """)
+    int revokeByUserIds(@Param("userIds") List<Long> userIds,
+                        @Param("now") Instant now,
+                        @Param("deletedBy") String deletedBy);
+
+    /**
+     * Purge, keyset page: ids of live tokens already expired, after afterId.
+     */
+    @Query("""
+            SELECT t.id FROM RefreshToken t
+            WHERE t.deleted = false
+                AND t.expiresAt < :now
+                AND t.id > :afterId
+            ORDER BY t.id
+            """)
+    List<Long> findExpiredLiveIds(@Param("now") Instant now, @Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t
+                SET t.deleted = true,
+                    t.deletedAt = :deletedAt,
+                    t.deletedBy = :deletedBy
+            WHERE t.id IN :ids
+                AND t.deleted = false
+            """)
+    int softDeleteByIds(@Param("ids") List<Long> ids,
+                        @Param("deletedAt") Instant deletedAt,
+                        @Param("deletedBy") String deletedBy);
+
+    /**
+     * Purge, keyset page: ids of tokens that expired before the retention cutoff, after afterId.
+     * expires_at is the partition key, so only refresh_tokens_default and not yet dropped partitions are read.
+     */
+    @Query("""
+            SELECT t.id FROM RefreshToken t
+            WHERE t.expiresAt < :cutoff
+                AND t.id > :afterId
+            ORDER BY t.id
+            """)
+    List<Long> findExpiredBeforeIds(@Param("cutoff") Instant cutoff, @Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id IN :ids AND t.expiresAt < :cutoff")
+    int hardDeleteByIds(@Param("ids") List<Long> ids, @Param("cutoff") Instant cutoff);
+
+    /**
+     * Refresh token rotation in one statement (PostgreSQL): retire every live token of the owner
+     * of :tokenHash (revoking that token itself) and insert :newTokenHash for the same user.
+     * Returns the user id, or empty when the token is unknown, revoked, expired or already rotated.
+     */
+    @Query(nativeQuery = true, value = """
+            WITH retired AS (
+                UPDATE refresh_tokens
+                    SET is_deleted = true,
+                        deleted_at = :now,
+                        deleted_by = 'SYSTEM',
+                        revoked = revoked OR token_hash = :tokenHash,
+                        revoked_at = CASE WHEN token_hash = :tokenHash THEN :now ELSE revoked_at END
+                WHERE is_deleted = false
+                    AND user_id = (
+                        SELECT user_id FROM refresh_tokens
+                        WHERE token_hash = :tokenHash
+                            AND is_deleted = false
+                            AND revoked = false
+                            AND expires_at > :now)
+                RETURNING user_id, token_hash
+            )
+            INSERT INTO refresh_tokens (user_id, token_hash, issued_at, expires_at, revoked, ip_address, user_agent,
+                                        created_at, created_by, is_deleted)
+            SELECT user_id, :newTokenHash, :now, :expiresAt, false, :ipAddress, :userAgent, :now, 'SYSTEM', false
+            FROM retired
+            WHERE retired.token_hash = :tokenHash
+            RETURNING user_id
+            """)
+    Optional<Long> rotate(@Param("tokenHash") byte[] tokenHash,
+                          @Param("newTokenHash") byte[] newTokenHash,
+                          @Param("now") Instant now,
+                          @Param("expiresAt") Instant expiresAt,
+                          @Param("ipAddress") String ipAddress,
+                          @Param("userAgent") String userAgent);
+
+    /**
+     * Login in one statement (PostgreSQL): retire the user's live tokens and insert :tokenHash.
+     * Returns the new row id.
+     */
+    @Query(nativeQuery = true, value = """
+            WITH retired AS (
+                UPDATE refresh_tokens
+                    SET is_deleted = true,
+                        deleted_at = :now,
+                        deleted_by = 'SYSTEM'
+                WHERE user_id = :userId
+                    AND is_deleted = false
+            )
+            INSERT INTO refresh_tokens (user_id, token_hash, issued_at, expires_at, revoked, ip_address, user_agent,
+                                        created_at, created_by, is_deleted)
+            VALUES (:userId, :tokenHash, :now, :expiresAt, false, :ipAddress, :userAgent, :now, 'SYSTEM', false)
+            RETURNING id
+            """)
+    Long issueForUser(@Param("userId") Long userId,
+                      @Param("tokenHash") byte[] tokenHash,
+                      @Param("now") Instant now,
+                      @Param("expiresAt") Instant expiresAt,
+                      @Param("ipAddress") String ipAddress,
+                      @Param("userAgent") String userAgent);
+
+    @Query("""
+            SELECT t.user.id FROM RefreshToken t
+            WHERE t.tokenHash = :tokenHash
+                AND t.deleted = false
+                AND t.revoked = false
+                AND t.expiresAt > :now
+            """)
+    Optional<Long> findLiveUserIdByTokenHash(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t
+                SET t.deleted = true,
+                    t.deletedAt = :now,
+                    t.deletedBy = 'SYSTEM',
+                    t.revoked = CASE WHEN t.tokenHash = :tokenHash THEN true ELSE t.revoked END,
+                    t.revokedAt = CASE WHEN t.tokenHash = :tokenHash THEN :now ELSE t.revokedAt END
+            WHERE t.user.id = :userId
+                AND t.deleted = false
+            """)
+    int retireByUserId(@Param("userId") Long userId, @Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO refresh_tokens (user_id, token_hash, issued_at, expires_at, revoked, ip_address, user_agent,
+                                        created_at, created_by, is_deleted)
+            VALUES (:userId, :tokenHash, :now, :expiresAt, false, :ipAddress, :userAgent, :now, 'SYSTEM', false)
+            """)
+    void insertForUser(@Param("userId") Long userId,
+                       @Param("tokenHash") byte[] tokenHash,
+                       @Param("now") Instant now,
+                       @Param("expiresAt") Instant expiresAt,
+                       @Param("ipAddress") String ipAddress,
+                       @Param("userAgent") String userAgent);
 }
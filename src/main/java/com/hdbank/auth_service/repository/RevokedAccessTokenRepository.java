@@ -0,0 +1,32 @@
+package com.hdbank.auth_service.repository;
+
+import com.hdbank.auth_service.entity.RevokedAccessToken;
+import com.hdbank.auth_service.security.AccessTokenRevokedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    @Query("""
+            SELECT new com.hdbank.auth_service.security.AccessTokenRevokedEvent(t.tokenId, t.expiresAt)
+            FROM RevokedAccessToken t
+            WHERE t.revokedAt > :since
+            """)
+    List<AccessTokenRevokedEvent> findRevocationsSince(@Param("since") Instant since);
+
+    /**
+     * Rows of tokens past their exp: the signature check rejects those tokens anyway.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedAccessToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,178 @@
+package com.hdbank.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hdbank.auth_service.repository.RevokedAccessTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory denylist of revoked access tokens (by jti), checked by JwtAuthenticationFilter on every request:
+ * - Bloom filter first: a token that was never revoked (almost every request) is answered without
+ *   touching the exact set
+ * - exact set second (jti -> exp): rules out Bloom false positives; each entry expires at the token's exp
+ * The Bloom filter cannot remove entries, so it has two generations rotated every max token lifetime
+ * (jwt.expiration): an entry is kept at least as long as the token it denies can be valid.
+ * Revocations made here apply at once (AccessTokenRevokedEvent); revocations made by other instances are
+ * polled from revoked_access_tokens every jwt.denylist.refresh-interval, so a logout is enforced
+ * cluster-wide within that interval.
+ * Rotation takes a ReentrantLock rather than a monitor, so a virtual thread never pins its carrier here.
+ */
+@Component
+@Slf4j
+public class AccessTokenDenylist {
+
+    private final Function<Instant, List<AccessTokenRevokedEvent>> revocationsSince;
+    private final Cache<String, Instant> revoked;
+    private final Duration maxTokenLifetime;
+    private final Duration refreshInterval;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Clock clock;
+    private final ReentrantLock rotationLock = new ReentrantLock();
+
+    private volatile Generations generations;
+    private Instant polledUntil;
+
+    public AccessTokenDenylist(
+            RevokedAccessTokenRepository revokedAccessTokenRepository,
+            @Value("${jwt.expiration}") long maxTokenLifetimeMillis,
+            @Value("${jwt.denylist.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jwt.denylist.refresh-interval:PT5S}") Duration refreshInterval
+    ) {
+        this(revokedAccessTokenRepository::findRevocationsSince, Duration.ofMillis(maxTokenLifetimeMillis),
+                expectedRevocations, falsePositiveRate, refreshInterval, Clock.systemUTC());
+    }
+
+    AccessTokenDenylist(Function<Instant, List<AccessTokenRevokedEvent>> revocationsSince, Duration maxTokenLifetime,
+                        long expectedRevocations, double falsePositiveRate, Duration refreshInterval, Clock clock) {
+        this.revocationsSince = revocationsSince;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.refreshInterval = refreshInterval;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpiry(clock))
+                .ticker(() -> clock.millis() * 1_000_000)
+                .build();
+        BloomFilter filter = newFilter();
+        this.generations = new Generations(filter, newFilter(), clock.instant().plus(maxTokenLifetime));
+        this.polledUntil = clock.instant().minus(maxTokenLifetime);
+        log.info("Access token denylist: {} bits, {} hashes per generation, rotated every {}",
+                filter.bitCount(), filter.hashCount(), maxTokenLifetime);
+    }
+
+    /**
+     * Denylist that polls revocationsSince instead of RevokedAccessTokenRepository (reactive build: R2DBC query).
+     */
+    public static AccessTokenDenylist polling(Function<Instant, List<AccessTokenRevokedEvent>> revocationsSince,
+                                              Duration maxTokenLifetime, long expectedRevocations,
+                                              double falsePositiveRate, Duration refreshInterval) {
+        return new AccessTokenDenylist(revocationsSince, maxTokenLifetime, expectedRevocations, falsePositiveRate,
+                refreshInterval, Clock.systemUTC());
+    }
+
+    @EventListener
+    public void onAccessTokenRevoked(AccessTokenRevokedEvent event) {
+        revoke(event.tokenId(), event.expiresAt());
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        // exact set before the filter: a filter hit always finds its entry
+        revoked.put(tokenId, expiresAt);
+        rotateIfDue().current().put(tokenId);
+    }
+
+    /**
+     * Pick up revocations made by other instances; like TokenVersionRegistry the window overlaps the
+     * previous poll so late commits are not missed (revoking a jti twice is a no-op).
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.refresh-interval:PT5S}")
+    public void refresh() {
+        Instant pollStart = clock.instant();
+        List<AccessTokenRevokedEvent> revocations = revocationsSince.apply(polledUntil);
+        for (AccessTokenRevokedEvent revocation : revocations) {
+            revoke(revocation.tokenId(), revocation.expiresAt());
+        }
+        polledUntil = pollStart.minus(refreshInterval);
+        if (!revocations.isEmpty()) {
+            log.debug("Refreshed {} access token revocations", revocations.size());
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Generations current = generations;
+        if (!current.current().mightContain(tokenId) && !current.previous().mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.getIfPresent(tokenId) != null;
+    }
+
+    public long size() {
+        revoked.cleanUp();
+        return revoked.estimatedSize();
+    }
+
+    private Generations rotateIfDue() {
+        Generations current = generations;
+        if (clock.instant().isBefore(current.rotateAt())) {
+            return current;
+        }
+        rotationLock.lock();
+        try {
+            current = generations;
+            if (!clock.instant().isBefore(current.rotateAt())) {
+                current = new Generations(newFilter(), current.current(), clock.instant().plus(maxTokenLifetime));
+                generations = current;
+            }
+            return current;
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous, Instant rotateAt) {
+    }
+
+    private record UntilTokenExpiry(Clock clock) implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String key, Instant expiresAt, long currentTime) {
+            Duration remaining = Duration.between(clock.instant(), expiresAt);
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
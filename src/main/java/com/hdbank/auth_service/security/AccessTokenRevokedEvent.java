@@ -0,0 +1,15 @@
+package com.hdbank.auth_service.security;
+
+import java.time.Instant;
+
+/**
+ * An access token (by jti) must no longer be accepted; published on logout and read back by
+ * AccessTokenDenylist's poll of revoked_access_tokens. A password change does not publish it:
+ * it bumps the user's token_version instead (TokenVersionRegistry).
+ */
+public record AccessTokenRevokedEvent(String tokenId, Instant expiresAt) {
+
+    public static AccessTokenRevokedEvent of(JwtClaims claims) {
+        return new AccessTokenRevokedEvent(claims.tokenId(), claims.expiresAt());
+    }
+}
@@ -0,0 +1,20 @@
+package com.hdbank.auth_service.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Client address of a request, used for the login throttle, the rate limit and refresh token ip_address.
+ * Always the remote address: behind a proxy, Tomcat's RemoteIpValve (server.forward-headers-strategy=native)
+ * has already replaced it with the X-Forwarded-For hop in front of the trusted proxies
+ * (server.tomcat.remoteip.internal-proxies). The header is never read here, so a client that connects
+ * directly cannot choose its own address.
+ */
+public final class ClientIp {
+
+    private ClientIp() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -1,6 +1,5 @@
 package com.hdbank.auth_service.security;
 
-import com.hdbank.auth_service.entity.AppRole;
 import com.hdbank.auth_service.entity.AppUser;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,6 +10,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Set;
 
 @Getter
 @AllArgsConstructor
@@ -22,30 +22,48 @@ public class CustomUserDetails implements UserDetails, CredentialsContainer {
     private final String fullName;
     private final boolean enabled;
     private final Collection<? extends GrantedAuthority> authorities;
+    private final int tokenVersion;
 
-    public static CustomUserDetails fromAppUser(AppUser appUser){
-        Collection<GrantedAuthority> authorities = new HashSet<>();
-        if(appUser.getRoles() != null && !appUser.getRoles().isEmpty()){
-            for(AppRole role : appUser.getRoles()){
-                String roleName = role.getName();
-                String authority = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
-                authorities.add( new SimpleGrantedAuthority(authority));
-            }
-        }
-        return new CustomUserDetails(
+    /**
+     * Role names come from UserRoleService (cached), so the lazy roles collection is never loaded.
+     */
+    public static CustomUserDetails fromAppUser(AppUser appUser, Collection<String> roleNames){
+        return of(
                 appUser.getId(),
                 appUser.getUsername(),
                 appUser.getPasswordHash(),
                 appUser.getFullName(),
                 appUser.isEnabled(),
-                authorities
+                roleNames,
+                appUser.getTokenVersion()
         );
     }
 
+    /**
+     * Same as {@link #fromAppUser(AppUser, Collection)} from plain column values (reactive build).
+     */
+    public static CustomUserDetails of(
+            Long id,
+            String username,
+            String passwordHash,
+            String fullName,
+            boolean enabled,
+            Collection<String> roleNames,
+            int tokenVersion
+    ) {
+        Collection<GrantedAuthority> authorities = new HashSet<>();
+        for(String roleName : roleNames){
+            String authority = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
+            authorities.add( new SimpleGrantedAuthority(authority));
+        }
+        return new CustomUserDetails(id, username, passwordHash, fullName, enabled, authorities, tokenVersion);
+    }
+
     public static CustomUserDetails fromJwtClaims(
             Long userId,
             String username,
             Collection<String> roles,
+            int tokenVersion,
             boolean isEnabled
     ) {
         Collection<GrantedAuthority> authorities = new HashSet<>();
@@ -58,10 +76,23 @@ public class CustomUserDetails implements UserDetails, CredentialsContainer {
                 null,
                 null,
                 isEnabled,
-                authorities
+                authorities,
+                tokenVersion
         );
     }
 
+    /**
+     * Role names as stored in app_roles (authorities without the ROLE_ prefix).
+     */
+    public Set<String> getRoleNames() {
+        Set<String> roleNames = new HashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            roleNames.add(name.startsWith("ROLE_") ? name.substring("ROLE_".length()) : name);
+        }
+        return roleNames;
+    }
+
     @Override
     public void eraseCredentials() {
         this.password = null;
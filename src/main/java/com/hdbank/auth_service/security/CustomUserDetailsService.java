@@ -2,8 +2,11 @@ package com.hdbank.auth_service.security;
 
 import com.hdbank.auth_service.entity.AppUser;
 import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.service.UserRoleService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,10 +14,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AppUserRepository appUserRepository;
+    private final UserRoleService userRoleService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -22,6 +27,23 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User not found with username" + username
                 ));
-        return CustomUserDetails.fromAppUser(appUser);
+        return CustomUserDetails.fromAppUser(appUser, userRoleService.getRoleNames(appUser.getId()));
+    }
+
+    /**
+     * Called by DaoAuthenticationProvider after a successful login when the stored hash is outdated
+     * (other algorithm or lower work factor than configured); newPassword is already encoded.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AppUser appUser = appUserRepository.findByUsernameAndDeletedFalse(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User not found with username" + user.getUsername()
+                ));
+        appUser.setPasswordHash(newPassword);
+        appUserRepository.save(appUser);
+        log.info("Password hash upgraded for user: {}", appUser.getUsername());
+        return CustomUserDetails.fromAppUser(appUser, userRoleService.getRoleNames(appUser.getId()));
     }
 }
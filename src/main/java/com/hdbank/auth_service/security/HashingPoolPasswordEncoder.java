@@ -0,0 +1,36 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.service.PasswordHashingExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs encode / matches on the bounded PasswordHashingExecutor and waits for the result, so only the hash
+ * leaves the calling thread: loading the user, the transaction and token issuing stay where they are.
+ * Applies to every hash the servlet build computes (login, unknown-user timing check, rehash, register,
+ * password change). upgradeEncoding only parses the stored hash and runs inline.
+ */
+public class HashingPoolPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public HashingPoolPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,57 @@
+package com.hdbank.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory login attempt store (login.throttle.store=memory, the default):
+ * - one AtomicReference per key, updated with a CAS loop: concurrent failures never take a lock
+ * - bounded by login.throttle.max-keys, so a spray of random usernames evicts instead of growing the heap
+ * - an idle key is dropped once nothing in it can still matter (two windows, the lockout, the longest backoff)
+ * Local to this instance: behind a load balancer each node counts on its own, use the redis store to share.
+ */
+@Component
+@ConditionalOnProperty(name = "login.throttle.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final Cache<String, AtomicReference<LoginAttempts>> attempts;
+
+    public InMemoryLoginAttemptStore(
+            @Value("${login.throttle.max-keys:100000}") long maxKeys,
+            @Value("${login.throttle.window:PT15M}") Duration window,
+            @Value("${login.throttle.lockout:PT15M}") Duration lockout,
+            @Value("${login.throttle.backoff.max:PT1M}") Duration backoffMax
+    ) {
+        this(maxKeys, LoginThrottle.retention(window, lockout, backoffMax));
+    }
+
+    InMemoryLoginAttemptStore(long maxKeys, Duration retention) {
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(retention)
+                .build();
+    }
+
+    @Override
+    public LoginAttempts get(String key) {
+        AtomicReference<LoginAttempts> state = attempts.getIfPresent(key);
+        return state == null ? LoginAttempts.NONE : state.get();
+    }
+
+    @Override
+    public LoginAttempts recordFailure(String key, long now, LoginAttempts.Policy policy) {
+        return attempts.get(key, k -> new AtomicReference<>(LoginAttempts.NONE))
+                .updateAndGet(state -> state.afterFailure(now, policy));
+    }
+
+    @Override
+    public void reset(String key) {
+        attempts.invalidate(key);
+    }
+}
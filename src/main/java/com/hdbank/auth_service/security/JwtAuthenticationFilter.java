@@ -1,12 +1,13 @@
 package com.hdbank.auth_service.security;
 
 import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,14 +16,47 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Bearer token authentication. Every request carrying a token is counted in auth.jwt.authentication,
+ * tagged by outcome: valid | revoked | stale_version | expired | malformed | invalid_signature | invalid.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final Counter validTokens;
+    private final Counter revokedTokens;
+    private final Counter staleTokens;
+    // verification failures by JwtService.failureOutcome
+    private final Map<String, Counter> failureCounters;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            AccessTokenDenylist accessTokenDenylist,
+            TokenVersionRegistry tokenVersionRegistry,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.validTokens = outcomeCounter(meterRegistry, "valid");
+        this.revokedTokens = outcomeCounter(meterRegistry, "revoked");
+        this.staleTokens = outcomeCounter(meterRegistry, "stale_version");
+        Map<String, Counter> failureCounters = new HashMap<>();
+        for (String outcome : JwtService.FAILURE_OUTCOMES) {
+            failureCounters.put(outcome, outcomeCounter(meterRegistry, outcome));
+        }
+        this.failureCounters = Map.copyOf(failureCounters);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -37,36 +71,72 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         try {
             final String jwt = authHeader.substring(7);
-            final Long userId = jwtService.extractUserId(jwt);
-            final String username = jwtService.extractUsername(jwt);
-            final List<String> roles = jwtService.extractRoles(jwt);
+            // Single verification per request: signature, expiration and claims in one parse
+            final JwtClaims claims = verify(request, jwt);
+            final String username = claims.username();
+
+            // in-memory, no DB hit: a revoked (logged out) token is left unauthenticated
+            if (accessTokenDenylist.isRevoked(claims.tokenId())) {
+                log.debug("Rejected revoked access token {} of user: {}", claims.tokenId(), username);
+                revokedTokens.increment();
+                filterChain.doFilter(request, response);
+                return;
+            }
+            // minted before the user's last password change
+            if (!tokenVersionRegistry.isCurrent(claims.userId(), claims.tokenVersion())) {
+                log.debug("Rejected access token with stale version {} of user: {}", claims.tokenVersion(), username);
+                staleTokens.increment();
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            validTokens.increment();
 
             if( username != null && SecurityContextHolder.getContext().getAuthentication() == null){
                 CustomUserDetails userDetails = CustomUserDetails.fromJwtClaims(
-                        userId,
+                        claims.userId(),
                         username,
-                        roles,
+                        claims.roles(),
+                        claims.tokenVersion(),
                         true
                 );
 
-                if(jwtService.isTokenValid(jwt)){
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                claims,
+                                userDetails.getAuthorities()
+                        );
                 authToken.setDetails(
                         // set detail for saving ip and session id for audit/tracking
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
-                    log.debug("Set authentication for user: {}", username);
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                log.debug("Set authentication for user: {}", username);
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
+            failureCounters.get(JwtService.failureOutcome(e)).increment();
             log.error("Cannot set user authentication: {}", e.getMessage());
         }
         filterChain.doFilter(request,response);
     }
+
+    // RateLimitFilter already verified the token when rate limiting is enabled
+    private JwtClaims verify(HttpServletRequest request, String jwt) {
+        Object verification = request.getAttribute(RateLimitFilter.VERIFICATION_ATTRIBUTE);
+        if (verification instanceof JwtClaims claims) {
+            return claims;
+        }
+        if (verification instanceof RuntimeException e) {
+            throw e;
+        }
+        return verifiedTokenCache.get(jwt, jwtService::verifyToken);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.jwt.authentication")
+                .description("Bearer tokens seen by the authentication filter, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
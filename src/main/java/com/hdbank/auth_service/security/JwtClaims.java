@@ -0,0 +1,23 @@
+package com.hdbank.auth_service.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable, typed view of an access token that has already passed signature
+ * and expiration checks. Produced once per request by {@code JwtService.verifyToken}.
+ * {@code tokenId} is the jti (null for tokens issued before it was added);
+ * {@code tokenVersion} is the user's token_version when the token was minted (0 when absent).
+ */
+public record JwtClaims(
+        String tokenId,
+        Long userId,
+        String username,
+        List<String> roles,
+        int tokenVersion,
+        Instant expiresAt
+) {
+    public JwtClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
@@ -0,0 +1,64 @@
+package com.hdbank.auth_service.security;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signing keys by {@code kid}: new tokens are signed with the active key, verification looks the key up by kid.
+ * <p>
+ * The ring is an immutable snapshot behind a volatile reference. Readers never lock; {@link #replace}
+ * builds a new snapshot and publishes it in one write, so request threads see either the old or the new ring.
+ */
+public class JwtKeyRing {
+
+    private volatile KeySet keySet;
+
+    public JwtKeyRing(String activeKeyId, Collection<JwtSigningKey> keys) {
+        this.keySet = KeySet.of(activeKeyId, keys);
+    }
+
+    public static JwtKeyRing of(JwtSigningKey signingKey) {
+        return new JwtKeyRing(signingKey.keyId(), List.of(signingKey));
+    }
+
+    public JwtSigningKey activeKey() {
+        return keySet.active();
+    }
+
+    /**
+     * O(1) lookup, {@code null} when the kid is unknown or retired.
+     */
+    public JwtSigningKey find(String keyId) {
+        return keyId == null ? null : keySet.byId().get(keyId);
+    }
+
+    public Collection<JwtSigningKey> keys() {
+        return keySet.byId().values();
+    }
+
+    /**
+     * Atomically swap in a new set of keys. Keys left out are retired: tokens signed with them stop verifying.
+     */
+    public void replace(String activeKeyId, Collection<JwtSigningKey> keys) {
+        this.keySet = KeySet.of(activeKeyId, keys);
+    }
+
+    private record KeySet(JwtSigningKey active, Map<String, JwtSigningKey> byId) {
+
+        static KeySet of(String activeKeyId, Collection<JwtSigningKey> keys) {
+            Map<String, JwtSigningKey> byId = new HashMap<>();
+            for (JwtSigningKey key : keys) {
+                if (byId.put(key.keyId(), key) != null) {
+                    throw new IllegalArgumentException("Duplicate jwt key id: " + key.keyId());
+                }
+            }
+            JwtSigningKey active = byId.get(activeKeyId);
+            if (active == null || !active.canSign()) {
+                throw new IllegalArgumentException("Active jwt key must exist and have a signing key: " + activeKeyId);
+            }
+            return new KeySet(active, Map.copyOf(byId));
+        }
+    }
+}
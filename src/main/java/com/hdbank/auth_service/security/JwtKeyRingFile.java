@@ -0,0 +1,93 @@
+package com.hdbank.auth_service.security;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Key ring definition file (jwt.keyring.location), re-read at runtime to add and retire keys:
+ * <pre>
+ * active=2026-10
+ * keys.2026-10.algorithm=ES256
+ * keys.2026-10.private-key=/etc/auth-service/keys/2026-10.key.pem
+ * keys.2026-10.public-key=/etc/auth-service/keys/2026-10.pub.pem
+ * # retired: public key only, kept until its tokens have expired
+ * keys.2026-09.algorithm=RS256
+ * keys.2026-09.public-key=/etc/auth-service/keys/2026-09.pub.pem
+ * # HMAC keys carry the secret inline
+ * keys.legacy.algorithm=HS256
+ * keys.legacy.secret=...
+ * </pre>
+ * Relative key paths resolve against the ring file's directory.
+ */
+public final class JwtKeyRingFile {
+
+    private static final String KEY_PREFIX = "keys.";
+
+    private JwtKeyRingFile() {
+    }
+
+    public record Contents(String activeKeyId, List<JwtSigningKey> keys) {
+    }
+
+    public static Contents load(Path ringFile) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(ringFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read jwt key ring: " + ringFile, e);
+        }
+
+        String activeKeyId = properties.getProperty("active");
+        if (activeKeyId == null || activeKeyId.isBlank()) {
+            throw new IllegalArgumentException("jwt key ring has no active key: " + ringFile);
+        }
+
+        TreeSet<String> keyIds = new TreeSet<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PREFIX) && name.lastIndexOf('.') > KEY_PREFIX.length()) {
+                keyIds.add(name.substring(KEY_PREFIX.length(), name.lastIndexOf('.')));
+            }
+        }
+
+        Path baseDir = ringFile.toAbsolutePath().getParent();
+        List<JwtSigningKey> keys = new ArrayList<>();
+        for (String keyId : keyIds) {
+            keys.add(loadKey(properties, keyId, baseDir));
+        }
+        return new Contents(activeKeyId.trim(), keys);
+    }
+
+    private static JwtSigningKey loadKey(Properties properties, String keyId, Path baseDir) {
+        String prefix = KEY_PREFIX + keyId + ".";
+        JwtSigningAlgorithm algorithm = JwtSigningAlgorithm.fromJwaName(
+                properties.getProperty(prefix + "algorithm", JwtSigningAlgorithm.HS256.jwaName()).trim());
+
+        if (!algorithm.isAsymmetric()) {
+            String secret = properties.getProperty(prefix + "secret");
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalArgumentException("jwt key " + keyId + " has no secret");
+            }
+            return JwtSigningKey.hmac(keyId, secret.trim());
+        }
+
+        String publicKey = properties.getProperty(prefix + "public-key");
+        if (publicKey == null || publicKey.isBlank()) {
+            throw new IllegalArgumentException("jwt key " + keyId + " has no public-key");
+        }
+        String privateKey = properties.getProperty(prefix + "private-key");
+        return JwtSigningKey.fromPem(
+                algorithm,
+                keyId,
+                privateKey == null || privateKey.isBlank() ? null : baseDir.resolve(privateKey.trim()),
+                baseDir.resolve(publicKey.trim())
+        );
+    }
+}
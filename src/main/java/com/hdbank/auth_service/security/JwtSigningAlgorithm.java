@@ -0,0 +1,83 @@
+package com.hdbank.auth_service.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+/**
+ * Supported access token signing modes. HS256 uses the shared {@code jwt.secret};
+ * the asymmetric modes sign with a private key and publish the public key through JWKS.
+ */
+public enum JwtSigningAlgorithm {
+
+    HS256(Jwts.SIG.HS256, null),
+    RS256(Jwts.SIG.RS256, "RSA"),
+    ES256(Jwts.SIG.ES256, "EC"),
+    EDDSA(Jwts.SIG.EdDSA, "Ed25519");
+
+    private final SecureDigestAlgorithm<?, ?> digestAlgorithm;
+
+    /**
+     * JCA key family, {@code null} for HMAC.
+     */
+    private final String keyFamily;
+
+    JwtSigningAlgorithm(SecureDigestAlgorithm<?, ?> digestAlgorithm, String keyFamily) {
+        this.digestAlgorithm = digestAlgorithm;
+        this.keyFamily = keyFamily;
+    }
+
+    /**
+     * Resolve from the JWA name ("HS256", "RS256", "ES256", "EdDSA"), case-insensitive.
+     */
+    public static JwtSigningAlgorithm fromJwaName(String name) {
+        for (JwtSigningAlgorithm algorithm : values()) {
+            if (algorithm.jwaName().equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported jwt signing algorithm: " + name);
+    }
+
+    public String jwaName() {
+        return digestAlgorithm.getId();
+    }
+
+    public boolean isAsymmetric() {
+        return keyFamily != null;
+    }
+
+    public String keyFamily() {
+        return keyFamily;
+    }
+
+    @SuppressWarnings("unchecked")
+    public SecureDigestAlgorithm<Key, Key> digestAlgorithm() {
+        return (SecureDigestAlgorithm<Key, Key>) digestAlgorithm;
+    }
+
+    /**
+     * Generate a fresh key pair for this algorithm (RSA 2048, P-256, Ed25519).
+     */
+    public KeyPair generateKeyPair() {
+        if (!isAsymmetric()) {
+            throw new IllegalStateException(jwaName() + " does not use a key pair");
+        }
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(keyFamily);
+            switch (this) {
+                case RS256 -> generator.initialize(2048);
+                case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+                default -> { }
+            }
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + jwaName() + " key pair", e);
+        }
+    }
+}
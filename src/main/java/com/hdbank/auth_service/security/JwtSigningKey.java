@@ -0,0 +1,121 @@
+package com.hdbank.auth_service.security;
+
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Key material for one {@code kid}: the key used to sign ({@code null} when verify-only),
+ * the key used to verify and, for asymmetric algorithms, the public JWK published on the JWKS endpoint.
+ * When no key id is configured it is derived from the RFC 7638 thumbprint.
+ */
+public record JwtSigningKey(
+        String keyId,
+        JwtSigningAlgorithm algorithm,
+        Key signingKey,
+        Key verificationKey,
+        PublicJwk<?> publicJwk
+) {
+
+    public static JwtSigningKey hmac(String keyId, String secret) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        String kid = isBlank(keyId)
+                ? Jwks.builder().key(key).idFromThumbprint().build().getId()
+                : keyId;
+        return new JwtSigningKey(kid, JwtSigningAlgorithm.HS256, key, key, null);
+    }
+
+    public static JwtSigningKey asymmetric(JwtSigningAlgorithm algorithm, String keyId, KeyPair keyPair) {
+        return asymmetric(algorithm, keyId, keyPair.getPublic(), keyPair.getPrivate());
+    }
+
+    /**
+     * Retired or not-yet-active key: verifies and is published, but cannot sign.
+     */
+    public static JwtSigningKey verifyOnly(JwtSigningAlgorithm algorithm, String keyId, PublicKey publicKey) {
+        return asymmetric(algorithm, keyId, publicKey, null);
+    }
+
+    /**
+     * Load a key from PEM files: PKCS#8 private key and X.509 (SubjectPublicKeyInfo) public key.
+     * Without {@code privateKeyPem} the key is verify-only.
+     */
+    public static JwtSigningKey fromPem(
+            JwtSigningAlgorithm algorithm,
+            String keyId,
+            Path privateKeyPem,
+            Path publicKeyPem
+    ) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.keyFamily());
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(readPem(publicKeyPem)));
+            if (privateKeyPem == null) {
+                return verifyOnly(algorithm, keyId, publicKey);
+            }
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(privateKeyPem)));
+            return asymmetric(algorithm, keyId, publicKey, privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + algorithm.jwaName() + " key material", e);
+        }
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    private static JwtSigningKey asymmetric(
+            JwtSigningAlgorithm algorithm,
+            String keyId,
+            PublicKey publicKey,
+            PrivateKey privateKey
+    ) {
+        if (!algorithm.isAsymmetric()) {
+            throw new IllegalArgumentException(algorithm.jwaName() + " is not an asymmetric algorithm");
+        }
+        var jwkBuilder = Jwks.builder().key(publicKey)
+                .algorithm(algorithm.jwaName())
+                .publicKeyUse("sig");
+        PublicJwk<?> publicJwk = isBlank(keyId)
+                ? jwkBuilder.idFromThumbprint().build()
+                : jwkBuilder.id(keyId).build();
+        return new JwtSigningKey(
+                publicJwk.getId(),
+                algorithm,
+                privateKey,
+                publicKey,
+                publicJwk
+        );
+    }
+
+    private static byte[] readPem(Path path) {
+        try {
+            String pem = Files.readString(path, StandardCharsets.US_ASCII)
+                    .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            return Base64.getDecoder().decode(pem);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read key file: " + path, e);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,22 @@
+package com.hdbank.auth_service.security;
+
+/**
+ * Where failed login counters live, selected with login.throttle.store:
+ * - memory (default): per instance, see InMemoryLoginAttemptStore
+ * - redis: shared by every instance, see RedisLoginAttemptStore
+ * Keys come from LoginThrottle ("u:" + username, "ip:" + client ip); times are epoch millis.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Current state of the key, LoginAttempts.NONE when it has no recorded failure.
+     */
+    LoginAttempts get(String key);
+
+    /**
+     * Count one failure atomically and return the new state.
+     */
+    LoginAttempts recordFailure(String key, long now, LoginAttempts.Policy policy);
+
+    void reset(String key);
+}
@@ -0,0 +1,74 @@
+package com.hdbank.auth_service.security;
+
+import java.time.Duration;
+
+/**
+ * Failed login state of one key (a username or a client ip), immutable so stores can swap it with a CAS:
+ * - sliding window: failures of the current and the previous fixed window (aligned on epoch millis);
+ *   the estimate weights the previous window by how much of it still overlaps [now - window, now]
+ * - consecutive failures since the last success, for the exponential backoff
+ * - lockedUntil: set when the estimate reaches maxFailures, no attempt is let through before it
+ * Times are epoch millis; RedisLoginAttemptStore runs the same math in Lua.
+ */
+public record LoginAttempts(
+        long windowStart,
+        long current,
+        long previous,
+        long consecutive,
+        long lastFailureAt,
+        long lockedUntil
+) {
+
+    public static final LoginAttempts NONE = new LoginAttempts(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Limits for one kind of key. A zero backoffBase turns the backoff off (per-ip keys: one typo behind
+     * a shared NAT must not slow everybody down).
+     */
+    public record Policy(Duration window, long maxFailures, Duration lockout, Duration backoffBase, Duration backoffMax) {
+    }
+
+    public LoginAttempts afterFailure(long now, Policy policy) {
+        LoginAttempts rolled = rollTo(now, policy.window().toMillis());
+        long current = rolled.current + 1;
+        long lockedUntil = rolled.lockedUntil;
+        if (reachesLimit(current, rolled.previous, now - rolled.windowStart, policy)) {
+            lockedUntil = Math.max(lockedUntil, now + policy.lockout().toMillis());
+        }
+        return new LoginAttempts(rolled.windowStart, current, rolled.previous, consecutive + 1, now, lockedUntil);
+    }
+
+    /**
+     * Time left before the next attempt may run, zero when allowed now.
+     */
+    public Duration retryAfter(long now, Policy policy) {
+        long wait = lockedUntil - now;
+        if (consecutive > 0 && !policy.backoffBase().isZero()) {
+            wait = Math.max(wait, lastFailureAt + backoff(policy) - now);
+        }
+        return wait > 0 ? Duration.ofMillis(wait) : Duration.ZERO;
+    }
+
+    // backoffBase * 2^(consecutive - 1), capped at backoffMax
+    private long backoff(Policy policy) {
+        long base = policy.backoffBase().toMillis();
+        long max = policy.backoffMax().toMillis();
+        int doublings = (int) Math.min(consecutive - 1, 62);
+        return base > (max >> doublings) ? max : Math.min(max, base << doublings);
+    }
+
+    private LoginAttempts rollTo(long now, long window) {
+        long start = now - Math.floorMod(now, window);
+        if (start == windowStart) {
+            return this;
+        }
+        long previous = start - window == windowStart ? current : 0;
+        return new LoginAttempts(start, 0, previous, consecutive, lastFailureAt, lockedUntil);
+    }
+
+    // current + previous * (window - elapsed) / window >= maxFailures, kept in integers
+    private static boolean reachesLimit(long current, long previous, long elapsed, Policy policy) {
+        long window = policy.window().toMillis();
+        return current * window + previous * (window - elapsed) >= policy.maxFailures() * window;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Login throttling, per username and per client ip (login.throttle.*):
+ * - checkAllowed runs before authentication: a throttled attempt costs no
+ *   password verify and no database lookup
+ * - each failure counts in a sliding window; reaching max-failures locks the key for lockout
+ * - per username only: exponential backoff after each consecutive failure (base, 2x base, ... up to max),
+ *   cleared by a successful login
+ * Attempts already past checkAllowed when the limit is reached still run: the limit is approximate by
+ * the number of concurrent attempts, which the hashing pool bounds anyway.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final LoginAttemptStore store;
+    private final boolean enabled;
+    private final LoginAttempts.Policy usernamePolicy;
+    private final LoginAttempts.Policy ipPolicy;
+    private final Clock clock;
+    private final Counter throttledByUsername;
+    private final Counter throttledByIp;
+
+    public LoginThrottle(
+            LoginAttemptStore store,
+            @Value("${login.throttle.enabled:true}") boolean enabled,
+            @Value("${login.throttle.window:PT15M}") Duration window,
+            @Value("${login.throttle.lockout:PT15M}") Duration lockout,
+            @Value("${login.throttle.username.max-failures:5}") long usernameMaxFailures,
+            @Value("${login.throttle.ip.max-failures:50}") long ipMaxFailures,
+            @Value("${login.throttle.backoff.base:PT1S}") Duration backoffBase,
+            @Value("${login.throttle.backoff.max:PT1M}") Duration backoffMax,
+            MeterRegistry meterRegistry
+    ) {
+        this(store, enabled,
+                new LoginAttempts.Policy(window, usernameMaxFailures, lockout, backoffBase, backoffMax),
+                new LoginAttempts.Policy(window, ipMaxFailures, lockout, Duration.ZERO, backoffMax),
+                Clock.systemUTC(), meterRegistry);
+        log.info("Login throttle: enabled={}, store={}, window={}, lockout={}, max failures per username={}, per ip={}",
+                enabled, store.getClass().getSimpleName(), window, lockout, usernameMaxFailures, ipMaxFailures);
+    }
+
+    LoginThrottle(
+            LoginAttemptStore store,
+            boolean enabled,
+            LoginAttempts.Policy usernamePolicy,
+            LoginAttempts.Policy ipPolicy,
+            Clock clock,
+            MeterRegistry meterRegistry
+    ) {
+        this.store = store;
+        this.enabled = enabled;
+        this.usernamePolicy = usernamePolicy;
+        this.ipPolicy = ipPolicy;
+        this.clock = clock;
+        this.throttledByUsername = throttledCounter("username", meterRegistry);
+        this.throttledByIp = throttledCounter("ip", meterRegistry);
+    }
+
+    /**
+     * How long a key must be kept: two windows for the sliding estimate, the lockout, the longest backoff.
+     */
+    static Duration retention(Duration window, Duration lockout, Duration backoffMax) {
+        Duration retention = window.multipliedBy(2);
+        retention = lockout.compareTo(retention) > 0 ? lockout : retention;
+        return backoffMax.compareTo(retention) > 0 ? backoffMax : retention;
+    }
+
+    /**
+     * Throws LoginThrottledException (429 with Retry-After) when the username or the ip must wait.
+     */
+    public void checkAllowed(String username, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        Duration usernameWait = store.get(usernameKey(username)).retryAfter(now, usernamePolicy);
+        Duration ipWait = ipAddress == null ? Duration.ZERO : store.get(ipKey(ipAddress)).retryAfter(now, ipPolicy);
+        if (usernameWait.isZero() && ipWait.isZero()) {
+            return;
+        }
+        boolean byUsername = usernameWait.compareTo(ipWait) >= 0;
+        (byUsername ? throttledByUsername : throttledByIp).increment();
+        throw new LoginThrottledException("Too many failed login attempts, try again later",
+                byUsername ? usernameWait : ipWait);
+    }
+
+    public void recordFailure(String username, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        LoginAttempts attempts = store.recordFailure(usernameKey(username), now, usernamePolicy);
+        if (ipAddress != null) {
+            store.recordFailure(ipKey(ipAddress), now, ipPolicy);
+        }
+        if (attempts.lockedUntil() > now) {
+            log.warn("Login locked for username {} after {} consecutive failures", username, attempts.consecutive());
+        }
+    }
+
+    /**
+     * Clears the username's failures; the ip keeps its count (one valid account must not
+     * whitelist a credential-stuffing source).
+     */
+    public void recordSuccess(String username) {
+        if (enabled) {
+            store.reset(usernameKey(username));
+        }
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + (username == null ? "" : username.toLowerCase(Locale.ROOT));
+    }
+
+    private static String ipKey(String ipAddress) {
+        return "ip:" + ipAddress.trim();
+    }
+
+    private static Counter throttledCounter(String scope, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before authentication by the login throttle")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hdbank.auth_service.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Opaque (refresh) tokens: 256 random bits, base64url-encoded for the client.
+ * Only the SHA-256 digest of the token string is stored, so a DB dump holds no usable token.
+ */
+public final class OpaqueTokens {
+
+    public static final int TOKEN_BYTES = 32;
+
+    // default SecureRandom on Linux reads /dev/urandom: never blocks on entropy
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private OpaqueTokens() {
+    }
+
+    public static String generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * 32-byte SHA-256 of the UTF-8 token string; matches sha256(convert_to(token, 'UTF8')) used by V11.
+     */
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
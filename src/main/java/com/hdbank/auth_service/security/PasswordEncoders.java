@@ -0,0 +1,59 @@
+package com.hdbank.auth_service.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Password encoders by algorithm id ({bcrypt}, {argon2}, {pbkdf2}) with explicit work factors.
+ * Stored hashes are prefixed with the id, so the algorithm or its cost can change without resets:
+ * DelegatingPasswordEncoder#upgradeEncoding flags old hashes and they are rehashed on the next login.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private PasswordEncoders() {
+    }
+
+    public static BCryptPasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    public static Argon2PasswordEncoder argon2(int memoryKib, int iterations, int parallelism) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, ARGON2_HASH_LENGTH, parallelism, memoryKib, iterations);
+    }
+
+    public static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder(
+                "",
+                SALT_LENGTH,
+                iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256
+        );
+    }
+
+    /**
+     * @param idForEncode algorithm used for new hashes
+     * @param encoders    every algorithm that may still be found in stored hashes, by id
+     */
+    public static DelegatingPasswordEncoder delegating(String idForEncode, Map<String, PasswordEncoder> encoders) {
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException(
+                    "Unknown password encoder '" + idForEncode + "', expected one of " + encoders.keySet());
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // hashes stored before the {id} prefix existed are plain BCrypt ($2a$...)
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return delegating;
+    }
+}
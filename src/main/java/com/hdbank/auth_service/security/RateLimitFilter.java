@@ -0,0 +1,113 @@
+package com.hdbank.auth_service.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission control ahead of JwtAuthenticationFilter: a request over its route's limit is answered
+ * 429 with Retry-After before any database connection is taken.
+ * The principal is the subject of a verified access token, else the client ip: tokens that do not verify
+ * cost nothing to make up, so they all share their client's bucket. The ip is ClientIp (the remote address,
+ * X-Forwarded-For only through trusted proxies), so a forged header does not open a fresh bucket either.
+ * The bucket key needs the verification, so it runs before admission: a rejected request with a bearer
+ * token still costs one signature check (a cache lookup when jwt.verification-cache is enabled), never a
+ * database access. The result is handed to JwtAuthenticationFilter (VERIFICATION_ATTRIBUTE), so a token
+ * is still verified once per request.
+ * A route can also carry an overall limit shared by every principal.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the JwtClaims of the bearer token, or the RuntimeException its verification threw.
+     */
+    public static final String VERIFICATION_ATTRIBUTE = RateLimitFilter.class.getName() + ".verification";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final RateLimiter rateLimiter;
+    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitRules.Rule rule = rateLimiter.match(request.getRequestURI());
+        long waitNanos = rateLimiter.tryAcquire(rule, principal(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter("auth.rate-limit.rejected", "route", rule.name()).increment();
+        log.debug("Rate limited {} on route {}", request.getRequestURI(), rule.name());
+
+        // whole seconds, rounded up
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", false);
+        body.put("message", "Too many requests, retry after " + retryAfterSeconds + "s");
+        body.put("timestamp", new Date());
+        body.put("path", request.getRequestURI());
+        response.getWriter().write(MAPPER.writeValueAsString(body));
+    }
+
+    String principal(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                JwtClaims claims = verifiedTokenCache.get(authHeader.substring(7), jwtService::verifyToken);
+                request.setAttribute(VERIFICATION_ATTRIBUTE, claims);
+                return "u:" + claims.username();
+            } catch (RuntimeException e) {
+                request.setAttribute(VERIFICATION_ATTRIBUTE, e);
+            }
+        }
+        return "ip:" + ClientIp.of(request);
+    }
+}
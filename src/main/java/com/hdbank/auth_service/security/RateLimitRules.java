@@ -0,0 +1,138 @@
+package com.hdbank.auth_service.security;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Rate limits by route, from the rate-limit.rules.* properties or from a file (rate-limit.location)
+ * re-read at runtime, same keys without the prefix:
+ * <pre>
+ * # requests not matched by a route
+ * default.capacity=200
+ * default.refill-per-second=100
+ * # per principal (access token, else client ip): bursts of capacity, then refill-per-second
+ * routes.refresh.pattern=/api/v1/auth/refresh
+ * routes.refresh.capacity=20
+ * routes.refresh.refill-per-second=2
+ * # optional: whole route, every principal together
+ * routes.refresh.route-capacity=500
+ * routes.refresh.route-refill-per-second=200
+ * </pre>
+ * Patterns are Ant-style; the first route matching, in route name order, wins.
+ */
+public final class RateLimitRules {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String ROUTE_PREFIX = "routes.";
+    private static final String DEFAULT_RULE = "default";
+
+    /**
+     * Token bucket limit: up to capacity requests at once, one more every emissionIntervalNanos.
+     */
+    public record Limit(long capacity, long emissionIntervalNanos) {
+
+        public static Limit of(long capacity, double refillPerSecond) {
+            if (capacity <= 0 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException(
+                        "rate limit needs a positive capacity and refill rate: " + capacity + ", " + refillPerSecond);
+            }
+            return new Limit(capacity, Math.max(1, Math.round(1_000_000_000d / refillPerSecond)));
+        }
+    }
+
+    /**
+     * perRoute is null when the route has no overall limit.
+     */
+    public record Rule(String name, String pattern, Limit perPrincipal, Limit perRoute) {
+    }
+
+    private final List<Rule> routes;
+    private final Rule defaultRule;
+
+    private RateLimitRules(List<Rule> routes, Rule defaultRule) {
+        this.routes = List.copyOf(routes);
+        this.defaultRule = defaultRule;
+    }
+
+    public Rule match(String path) {
+        for (Rule route : routes) {
+            if (PATH_MATCHER.match(route.pattern(), path)) {
+                return route;
+            }
+        }
+        return defaultRule;
+    }
+
+    public List<Rule> routes() {
+        return routes;
+    }
+
+    public Rule defaultRule() {
+        return defaultRule;
+    }
+
+    public static RateLimitRules load(Path rulesFile) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(rulesFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read rate limit rules: " + rulesFile, e);
+        }
+        Map<String, String> values = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> values.put(name, properties.getProperty(name).trim()));
+        return parse(values);
+    }
+
+    public static RateLimitRules parse(Map<String, String> values) {
+        Rule defaultRule = new Rule(DEFAULT_RULE, "/**",
+                limit(values, DEFAULT_RULE + ".capacity", DEFAULT_RULE + ".refill-per-second"),
+                optionalLimit(values, DEFAULT_RULE + ".route-capacity", DEFAULT_RULE + ".route-refill-per-second"));
+
+        TreeSet<String> names = new TreeSet<>();
+        for (String key : values.keySet()) {
+            if (key.startsWith(ROUTE_PREFIX) && key.lastIndexOf('.') > ROUTE_PREFIX.length()) {
+                names.add(key.substring(ROUTE_PREFIX.length(), key.lastIndexOf('.')));
+            }
+        }
+        List<Rule> routes = new ArrayList<>();
+        for (String name : names) {
+            String prefix = ROUTE_PREFIX + name + ".";
+            String pattern = values.get(prefix + "pattern");
+            if (pattern == null || pattern.isBlank()) {
+                throw new IllegalArgumentException("rate limit route has no pattern: " + name);
+            }
+            routes.add(new Rule(name, pattern.trim(),
+                    limit(values, prefix + "capacity", prefix + "refill-per-second"),
+                    optionalLimit(values, prefix + "route-capacity", prefix + "route-refill-per-second")));
+        }
+        return new RateLimitRules(routes, defaultRule);
+    }
+
+    private static Limit limit(Map<String, String> values, String capacityKey, String refillKey) {
+        String capacity = values.get(capacityKey);
+        String refill = values.get(refillKey);
+        if (capacity == null || refill == null) {
+            throw new IllegalArgumentException("rate limit needs " + capacityKey + " and " + refillKey);
+        }
+        return Limit.of(Long.parseLong(capacity.trim()), Double.parseDouble(refill.trim()));
+    }
+
+    private static Limit optionalLimit(Map<String, String> values, String capacityKey, String refillKey) {
+        if (!values.containsKey(capacityKey) && !values.containsKey(refillKey)) {
+            return null;
+        }
+        return limit(values, capacityKey, refillKey);
+    }
+}
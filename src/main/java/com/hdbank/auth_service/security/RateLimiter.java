@@ -0,0 +1,103 @@
+package com.hdbank.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for RateLimitFilter, one per (route, principal) and one per route with an overall limit:
+ * - each bucket is a single AtomicLong (GCRA: the time the bucket is next full, in nanos), updated with a
+ *   CAS, so admitting a request allocates nothing but the map key and never takes a lock
+ * - buckets live in a Caffeine map bounded by rate-limit.max-keys; one idle for rate-limit.idle-timeout is
+ *   dropped, which is lossless as long as every bucket refills within that time
+ * - rules are read on every request: replaceRules (RateLimitRulesReloader) applies to existing buckets at once
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private record BucketKey(String route, String principal) {
+    }
+
+    private final Cache<BucketKey, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+    private volatile RateLimitRules rules;
+
+    public RateLimiter(
+            @Value("${rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${rate-limit.idle-timeout:PT10M}") Duration idleTimeout,
+            @Value("${rate-limit.location:}") String rulesLocation,
+            Environment environment
+    ) {
+        this(maxKeys, idleTimeout, initialRules(rulesLocation, environment), System::nanoTime);
+    }
+
+    RateLimiter(long maxKeys, Duration idleTimeout, RateLimitRules rules, LongSupplier nanoClock) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.nanoClock = nanoClock;
+        this.rules = rules;
+        log.info("Rate limiter: {} route rule(s), max {} buckets", rules.routes().size(), maxKeys);
+    }
+
+    private static RateLimitRules initialRules(String rulesLocation, Environment environment) {
+        if (!rulesLocation.isBlank()) {
+            return RateLimitRules.load(Path.of(rulesLocation));
+        }
+        Map<String, String> values = Binder.get(environment)
+                .bind("rate-limit.rules", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        return RateLimitRules.parse(values);
+    }
+
+    public RateLimitRules.Rule match(String path) {
+        return rules.match(path);
+    }
+
+    /**
+     * Takes a token from the principal's bucket, then from the route's; returns the nanos to wait
+     * before retrying, 0 when the request is admitted.
+     */
+    public long tryAcquire(RateLimitRules.Rule rule, String principal) {
+        long now = nanoClock.getAsLong();
+        long wait = tryAcquire(new BucketKey(rule.name(), principal), rule.perPrincipal(), now);
+        if (wait > 0 || rule.perRoute() == null) {
+            return wait;
+        }
+        return tryAcquire(new BucketKey(rule.name(), null), rule.perRoute(), now);
+    }
+
+    public void replaceRules(RateLimitRules rules) {
+        this.rules = rules;
+    }
+
+    private long tryAcquire(BucketKey key, RateLimitRules.Limit limit, long now) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long interval = limit.emissionIntervalNanos();
+        long burst = limit.capacity() * interval;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - burst - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.hdbank.auth_service.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis login attempt store (login.throttle.store=redis), shared by every instance:
+ * - {prefix}{key} -> hash ws, cur, prev, cons, last, lock (see LoginAttempts)
+ * - a failure is one Lua script running LoginAttempts.afterFailure, then PEXPIRE to the retention
+ * The caller's clock is used ("now" is passed in): instances are expected to be NTP-synced.
+ */
+@Component
+@ConditionalOnProperty(name = "login.throttle.store", havingValue = "redis")
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final List<Object> FIELDS = List.of("ws", "cur", "prev", "cons", "last", "lock");
+
+    // KEYS[1] attempts key; ARGV[1] now, ARGV[2] window, ARGV[3] max failures, ARGV[4] lockout, ARGV[5] ttl (millis)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_FAILURE = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local s = redis.call('HMGET', KEYS[1], 'ws', 'cur', 'prev', 'cons', 'lock')
+            local ws = tonumber(s[1]) or 0
+            local cur = tonumber(s[2]) or 0
+            local prev = tonumber(s[3]) or 0
+            local cons = tonumber(s[4]) or 0
+            local lock = tonumber(s[5]) or 0
+            local start = now - now % window
+            if start ~= ws then
+                if start - window == ws then prev = cur else prev = 0 end
+                cur = 0
+                ws = start
+            end
+            cur = cur + 1
+            cons = cons + 1
+            if cur * window + prev * (window - (now - ws)) >= tonumber(ARGV[3]) * window then
+                lock = math.max(lock, now + tonumber(ARGV[4]))
+            end
+            redis.call('HSET', KEYS[1], 'ws', ws, 'cur', cur, 'prev', prev, 'cons', cons, 'last', now, 'lock', lock)
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            return {ws, cur, prev, cons, now, lock}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisLoginAttemptStore(
+            StringRedisTemplate redisTemplate,
+            @Value("${login.throttle.redis.key-prefix:auth:login:}") String keyPrefix
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public LoginAttempts get(String key) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(keyPrefix + key, FIELDS);
+        if (values.get(0) == null) {
+            return LoginAttempts.NONE;
+        }
+        return attempts(values);
+    }
+
+    @Override
+    public LoginAttempts recordFailure(String key, long now, LoginAttempts.Policy policy) {
+        Duration retention = LoginThrottle.retention(policy.window(), policy.lockout(), policy.backoffMax());
+        List<?> values = redisTemplate.execute(RECORD_FAILURE,
+                List.of(keyPrefix + key),
+                String.valueOf(now),
+                String.valueOf(policy.window().toMillis()),
+                String.valueOf(policy.maxFailures()),
+                String.valueOf(policy.lockout().toMillis()),
+                String.valueOf(retention.toMillis()));
+        return attempts(values);
+    }
+
+    @Override
+    public void reset(String key) {
+        redisTemplate.delete(keyPrefix + key);
+    }
+
+    private static LoginAttempts attempts(List<?> values) {
+        return new LoginAttempts(
+                number(values.get(0)),
+                number(values.get(1)),
+                number(values.get(2)),
+                number(values.get(3)),
+                number(values.get(4)),
+                number(values.get(5)));
+    }
+
+    private static long number(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number n ? n.longValue() : Long.parseLong(value.toString());
+    }
+}
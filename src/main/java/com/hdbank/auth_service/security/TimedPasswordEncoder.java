@@ -0,0 +1,64 @@
+package com.hdbank.auth_service.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every hash computed through the application's PasswordEncoder:
+ * - auth.password.encode: register, password change, rehash on login
+ * - auth.password.matches, tag outcome = match | mismatch (unknown usernames are checked against
+ *   a dummy hash by DaoAuthenticationProvider and show up as mismatch)
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encode;
+    private final Timer match;
+    private final Timer mismatch;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encode = Timer.builder("auth.password.encode")
+                .description("Time to hash a password")
+                .register(meterRegistry);
+        this.match = matchesTimer(meterRegistry, "match");
+        this.mismatch = matchesTimer(meterRegistry, "mismatch");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            encode.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matches = false;
+        try {
+            matches = delegate.matches(rawPassword, encodedPassword);
+            return matches;
+        } finally {
+            (matches ? match : mismatch).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer matchesTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.password.matches")
+                .description("Time to check a password against its hash")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.hdbank.auth_service.security;
+
+import java.time.Instant;
+
+/**
+ * A user's token_version was bumped: access tokens minted with a lower version are no longer valid.
+ * Published on password change and read back by TokenVersionRegistry's poll.
+ */
+public record TokenVersionChange(Long userId, int tokenVersion, Instant changedAt) {
+}
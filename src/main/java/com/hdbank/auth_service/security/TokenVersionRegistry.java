@@ -0,0 +1,222 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.repository.AppUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Minimum valid token_version per user, checked by JwtAuthenticationFilter on every request.
+ * <p>
+ * Only users whose version changed within the last max token lifetime (jwt.expiration) are kept:
+ * older access tokens of anyone else have expired anyway, so a missing user accepts any version.
+ * The table is a primitive open-addressing long -> int map, replaced copy-on-write on change:
+ * reads are one hash probe without locks or boxing, writes (password changes) are rare.
+ * Local changes apply after commit; changes made by other instances are polled from app_users.
+ * Writers are serialized by a ReentrantLock (not a monitor) so virtual threads do not pin their carrier.
+ */
+@Component
+@Slf4j
+public class TokenVersionRegistry {
+
+    private final Function<Instant, List<TokenVersionChange>> changesSince;
+    private final Duration maxTokenLifetime;
+    private final Duration refreshInterval;
+    private final Clock clock;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Table table = Table.EMPTY;
+    private Instant polledUntil;
+
+    public TokenVersionRegistry(
+            AppUserRepository userRepository,
+            @Value("${jwt.expiration}") long maxTokenLifetimeMillis,
+            @Value("${jwt.token-version.refresh-interval:PT5S}") Duration refreshInterval
+    ) {
+        this(userRepository, Duration.ofMillis(maxTokenLifetimeMillis), refreshInterval, Clock.systemUTC());
+    }
+
+    TokenVersionRegistry(AppUserRepository userRepository, Duration maxTokenLifetime, Duration refreshInterval,
+                         Clock clock) {
+        this(userRepository::findTokenVersionChangesSince, maxTokenLifetime, refreshInterval, clock);
+    }
+
+    private TokenVersionRegistry(Function<Instant, List<TokenVersionChange>> changesSince, Duration maxTokenLifetime,
+                                 Duration refreshInterval, Clock clock) {
+        this.changesSince = changesSince;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+        this.polledUntil = clock.instant().minus(maxTokenLifetime);
+    }
+
+    /**
+     * Registry that polls changesSince instead of AppUserRepository (reactive build: R2DBC query).
+     */
+    public static TokenVersionRegistry polling(Function<Instant, List<TokenVersionChange>> changesSince,
+                                               Duration maxTokenLifetime, Duration refreshInterval) {
+        return new TokenVersionRegistry(changesSince, maxTokenLifetime, refreshInterval, Clock.systemUTC());
+    }
+
+    /**
+     * True when a token minted with tokenVersion is still valid for the user.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return userId == null || tokenVersion >= table.minimumVersion(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTokenVersionChanged(TokenVersionChange change) {
+        apply(List.of(change));
+    }
+
+    /**
+     * Pick up bumps made by other instances; the window overlaps the previous poll so commits
+     * that landed late are not missed (re-applying a change is a no-op).
+     */
+    @Scheduled(fixedDelayString = "${jwt.token-version.refresh-interval:PT5S}")
+    public void refresh() {
+        Instant pollStart = clock.instant();
+        List<TokenVersionChange> changes = changesSince.apply(polledUntil);
+        apply(changes);
+        polledUntil = pollStart.minus(refreshInterval);
+        if (!changes.isEmpty()) {
+            log.debug("Refreshed {} token versions, tracking {} users", changes.size(), table.size());
+        }
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    private void apply(List<TokenVersionChange> changes) {
+        writeLock.lock();
+        try {
+            applyLocked(changes);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyLocked(List<TokenVersionChange> changes) {
+        long cutoff = clock.instant().minus(maxTokenLifetime).toEpochMilli();
+        Table current = table;
+        boolean changed = false;
+        for (TokenVersionChange change : changes) {
+            if (change.userId() != null && change.changedAt() != null
+                    && change.changedAt().toEpochMilli() > cutoff
+                    && change.tokenVersion() > current.minimumVersion(change.userId())) {
+                changed = true;
+                break;
+            }
+        }
+        if (!changed && current.oldestChange() > cutoff) {
+            return;
+        }
+
+        int capacity = current.size() + changes.size();
+        long[] userIds = new long[capacity];
+        int[] versions = new int[capacity];
+        long[] changedAt = new long[capacity];
+        int count = 0;
+        for (int slot = 0; slot < current.userIds.length; slot++) {
+            if (current.userIds[slot] != Table.EMPTY_KEY && current.changedAt[slot] > cutoff) {
+                userIds[count] = current.userIds[slot];
+                versions[count] = current.versions[slot];
+                changedAt[count] = current.changedAt[slot];
+                count++;
+            }
+        }
+        for (TokenVersionChange change : changes) {
+            if (change.userId() == null || change.changedAt() == null
+                    || change.changedAt().toEpochMilli() <= cutoff) {
+                continue;
+            }
+            userIds[count] = change.userId();
+            versions[count] = change.tokenVersion();
+            changedAt[count] = change.changedAt().toEpochMilli();
+            count++;
+        }
+        table = Table.of(userIds, versions, changedAt, count);
+    }
+
+    private static final class Table {
+
+        private static final long EMPTY_KEY = 0L; // user ids start at 1
+
+        static final Table EMPTY = new Table(new long[1], new int[1], new long[1], 0, Long.MAX_VALUE);
+
+        private final long[] userIds;
+        private final int[] versions;
+        private final long[] changedAt;
+        private final int size;
+        private final long oldestChange;
+
+        private Table(long[] userIds, int[] versions, long[] changedAt, int size, long oldestChange) {
+            this.userIds = userIds;
+            this.versions = versions;
+            this.changedAt = changedAt;
+            this.size = size;
+            this.oldestChange = oldestChange;
+        }
+
+        // duplicates keep the highest version
+        static Table of(long[] userIds, int[] versions, long[] changedAt, int count) {
+            int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+            Table table = new Table(new long[capacity], new int[capacity], new long[capacity], 0, Long.MAX_VALUE);
+            int size = 0;
+            long oldest = Long.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                int slot = table.slotOf(userIds[i]);
+                if (table.userIds[slot] == EMPTY_KEY) {
+                    table.userIds[slot] = userIds[i];
+                    size++;
+                } else if (table.versions[slot] >= versions[i]) {
+                    continue;
+                }
+                table.versions[slot] = versions[i];
+                table.changedAt[slot] = changedAt[i];
+            }
+            for (int slot = 0; slot < capacity; slot++) {
+                if (table.userIds[slot] != EMPTY_KEY) {
+                    oldest = Math.min(oldest, table.changedAt[slot]);
+                }
+            }
+            return new Table(table.userIds, table.versions, table.changedAt, size, oldest);
+        }
+
+        int minimumVersion(long userId) {
+            int slot = slotOf(userId);
+            return userIds[slot] == userId ? versions[slot] : 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long oldestChange() {
+            return oldestChange;
+        }
+
+        // linear probing; the table is at most half full, so an empty slot always ends the probe
+        private int slotOf(long userId) {
+            int mask = userIds.length - 1;
+            long hash = userId * 0x9E3779B97F4A7C15L;
+            int slot = (int) (hash ^ (hash >>> 32)) & mask;
+            while (userIds[slot] != EMPTY_KEY && userIds[slot] != userId) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
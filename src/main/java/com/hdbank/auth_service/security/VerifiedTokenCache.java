@@ -0,0 +1,121 @@
+package com.hdbank.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Optional cache of already-verified access tokens, keyed by SHA-256 of the raw token.
+ * <p>
+ * Only the signature/expiration check is cached: each entry expires at the token's {@code exp},
+ * and revocation checks run on the returned claims, so a cached entry never bypasses them.
+ * Call {@link #invalidateAll()} whenever signing keys change.
+ * Hits, misses and evictions are exported as cache.gets / cache.evictions{cache=jwt.verification}.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+
+    private final Cache<String, JwtClaims> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.verification-cache.enabled:false}") boolean enabled,
+            @Value("${jwt.verification-cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verification");
+        log.info("Verified token cache enabled={}, maxSize={}", enabled, maxSize);
+    }
+
+    /**
+     * Return cached claims for the token, or run {@code verifier} and cache its result.
+     * Verification failures are propagated and never cached.
+     */
+    public JwtClaims get(String token, Function<String, JwtClaims> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Hit, miss and eviction counters.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            return remainingNanos(claims);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return remainingNanos(claims);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingNanos(JwtClaims claims) {
+            if (claims.expiresAt() == null) {
+                return 0;
+            }
+            Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+    }
+}
@@ -6,22 +6,30 @@ import com.hdbank.auth_service.dto.request.RegisterRequest;
 import com.hdbank.auth_service.dto.response.LoginResponse;
 import com.hdbank.auth_service.entity.AppRole;
 import com.hdbank.auth_service.entity.AppUser;
-import com.hdbank.auth_service.entity.RefreshToken;
+import com.hdbank.auth_service.entity.RevokedAccessToken;
+import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
 import com.hdbank.auth_service.exception.RoleNotFoundException;
 import com.hdbank.auth_service.exception.UserAlreadyExistsException;
 import com.hdbank.auth_service.repository.AppRoleRepository;
 import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.repository.RevokedAccessTokenRepository;
+import com.hdbank.auth_service.security.AccessTokenRevokedEvent;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import com.hdbank.auth_service.security.JwtClaims;
+import com.hdbank.auth_service.security.LoginThrottle;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,12 +43,20 @@ public class AuthService {
     private final AppRoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final UserRoleService userRoleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoginThrottle loginThrottle;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
-    @Transactional
+    /**
+     * Not transactional: the password is hashed on the hashing pool (HashingPoolPasswordEncoder) before the
+     * insert, so no connection is held while waiting for it. A concurrent duplicate is still rejected by the
+     * unique username constraint.
+     */
     public UserInfo register(RegisterRequest request) {
         if (userRepository.existsByUsernameAndDeletedFalse(request.getUsername())) {
             throw new UserAlreadyExistsException("Username already exists: " + request.getUsername());
@@ -49,15 +65,17 @@ public class AuthService {
         AppRole userRole = roleRepository.findByNameAndDeletedFalse("USER")
                 .orElseThrow(() -> new RoleNotFoundException("Default role USER not found"));
 
+        String passwordHash = passwordEncoder.encode(request.getPassword());
         AppUser newUser = AppUser.builder()
                 .username(request.getUsername())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .fullName(request.getFullName())
                 .enabled(true)
                 .roles(Set.of(userRole))
                 .build();
 
         AppUser savedUser = userRepository.save(newUser);
+        eventPublisher.publishEvent(new UserRolesChangedEvent(savedUser.getId()));
         log.info("New user registered: {}", savedUser.getUsername());
 
         return UserInfo.builder()
@@ -70,34 +88,43 @@ public class AuthService {
                         .collect(Collectors.toSet()))
                 .build();
     }
-    @Transactional
+    /**
+     * Not transactional: authenticate loads the user in its own read-only transaction and checks the password
+     * on the hashing pool with no connection held; issueRefreshToken runs its own transaction.
+     */
     public LoginResponse login(LoginRequest request, String ipAddress, String userAgent){
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                request.getUsername(),
-                request.getPassword()
-                )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                    request.getUsername(),
+                    request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(request.getUsername(), ipAddress);
+            throw e;
+        }
+        loginThrottle.recordSuccess(request.getUsername());
 
-        AppUser user = userRepository.findByUsernameAndDeletedFalse(request.getUsername())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // the principal was loaded (user row, roles from cache) by CustomUserDetailsService
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
 
-        String accessToken = jwtService.generateAccessToken(user);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user, ipAddress, userAgent);
+        String accessToken = jwtService.generateAccessToken(principal);
+        String refreshToken = refreshTokenStore.issueRefreshToken(
+                userRepository.getReferenceById(principal.getId()), ipAddress, userAgent);
 
         UserInfo userInfo = UserInfo.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .fullName(user.getFullName())
-                .enabled(user.isEnabled())
-                .roles(user.getRoles().stream()
-                        .map(AppRole::getName)
-                        .collect(Collectors.toSet()))
+                .id(principal.getId())
+                .username(principal.getUsername())
+                .fullName(principal.getFullName())
+                .enabled(principal.isEnabled())
+                .roles(principal.getRoleNames())
                 .build();
 
         return LoginResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken.getToken())
+                .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration / 1000)
                 .userInfo(userInfo)
@@ -106,37 +133,47 @@ public class AuthService {
 
     @Transactional
     public LoginResponse refreshToken(String refreshTokenStr, String ipAddress, String userAgent) {
-        RefreshToken refreshToken = refreshTokenService
-                .verifyRefreshToken(refreshTokenStr);
-        AppUser user = refreshToken.getUser();
-
-        refreshTokenService.revokeRefreshToken(refreshTokenStr);
+        RefreshTokenStore.Rotation rotation = refreshTokenStore
+                .rotateRefreshToken(refreshTokenStr, ipAddress, userAgent);
+        AppUser user = userRepository.findByIdAndDeletedFalse(rotation.userId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token owner not found"));
 
+        CustomUserDetails principal = CustomUserDetails.fromAppUser(user, userRoleService.getRoleNames(user.getId()));
         String newAccessToken = jwtService
-                .generateAccessToken(user);
-        RefreshToken newRefreshToken = refreshTokenService
-                .createRefreshToken(user, ipAddress, userAgent);
+                .generateAccessToken(principal);
 
         UserInfo userInfo = UserInfo.builder()
                 .id(user.getId())
                 .username(user.getUsername())
                 .fullName(user.getFullName())
                 .enabled(user.isEnabled())
-                .roles(user.getRoles().stream()
-                        .map(AppRole::getName)
-                        .collect(Collectors.toSet()))
+                .roles(principal.getRoleNames())
                 .build();
         return LoginResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken.getToken())
+                .refreshToken(rotation.token())
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration / 1000)
                 .userInfo(userInfo)
                 .build();
     }
 
-    @Transactional
-    public void logout(String refreshToken) {
-        refreshTokenService.revokeRefreshToken(refreshToken);
+    /**
+     * Revoke the access token used to log out (when the request carried one), then the refresh token.
+     * The access token goes first: an unknown or already rotated refresh token still fails the call,
+     * but must not leave the bearer token accepted until its exp.
+     * Not transactional: the revoked_access_tokens row (polled by the other instances) commits on its own,
+     * so a failed refresh token lookup does not roll it back.
+     */
+    public void logout(String refreshToken, JwtClaims accessToken) {
+        if (accessToken != null && accessToken.tokenId() != null) {
+            revokedAccessTokenRepository.save(RevokedAccessToken.builder()
+                    .tokenId(accessToken.tokenId())
+                    .expiresAt(accessToken.expiresAt())
+                    .revokedAt(Instant.now())
+                    .build());
+            eventPublisher.publishEvent(AccessTokenRevokedEvent.of(accessToken));
+        }
+        refreshTokenStore.revokeRefreshToken(refreshToken);
     }
 }
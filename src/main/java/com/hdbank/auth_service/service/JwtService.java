@@ -2,41 +2,92 @@ package com.hdbank.auth_service.service;
 
 import com.hdbank.auth_service.entity.AppRole;
 import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.security.CustomUserDetails;
+import com.hdbank.auth_service.security.JwtClaims;
+import com.hdbank.auth_service.security.JwtKeyRing;
+import com.hdbank.auth_service.security.JwtSigningKey;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.PublicJwk;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 
 /**
  *   Chức năng:
  *   - generateAccessToken(AppUser user) - Tạo JWT với claims: userId, username, roles
+ *   - generateAccessToken(CustomUserDetails principal) - Tạo JWT từ principal sau khi authenticate (không query lại user)
+ *   - verifyToken(String token) - Verify token một lần duy nhất, trả về JwtClaims (jti, userId, username, roles, exp)
+ *   - Mỗi access token có jti (UUID) để revoke từng token qua AccessTokenDenylist
+ *   - Claim tokenVersion = AppUser.tokenVersion: đổi password tăng version, mọi token cũ bị từ chối (TokenVersionRegistry)
  *   - extractUsername(String token) - Lấy username từ token
  *   - extractUserId(String token) - Lấy userId từ token
  *   - isTokenValid(String token) - Validate token (signature + expiration)
- *   - Sử dụng HS256 algorithm với secret từ config
+ *   - Thuật toán ký theo jwt.signing.algorithm: HS256 (secret từ config), RS256, ES256, EdDSA (key pair)
+ *   - Header luôn có kid; verify tìm key theo kid trong JwtKeyRing (O(1), không lock)
+ *   - Rotate key không cần restart: ký bằng active key, key cũ vẫn verify cho tới khi bị retire
+ *   - Signing key và JwtParser được build một lần khi khởi động, immutable và thread-safe
+ *   - Metrics: auth.jwt.sign (timer), auth.jwt.verify (timer, tag outcome = valid | expired | malformed |
+ *     invalid_signature | invalid); token đã có trong VerifiedTokenCache không đi qua verifyToken
  */
 @Service
 @Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    /**
+     * Every failure tag failureOutcome can return; their meters are registered up front.
+     */
+    public static final List<String> FAILURE_OUTCOMES = List.of("expired", "malformed", "invalid_signature", "invalid");
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
 
-    public String generateAccessToken(AppUser appUser){
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", appUser.getId());
-        claims.put("username", appUser.getUsername());
+    private final JwtKeyRing keyRing;
+
+    private final JwtParser jwtParser;
+
+    private final Timer signTimer;
+
+    private final Timer verifyTimer;
+
+    // failure timers by outcome, looked up without building a meter id on the hot path
+    private final Map<String, Timer> failureTimers;
 
+    public JwtService(
+            JwtKeyRing keyRing,
+            @Value("${jwt.expiration}") Long expiration,
+            MeterRegistry meterRegistry
+    ) {
+        this.expiration = expiration;
+        this.keyRing = keyRing;
+        this.signTimer = Timer.builder("auth.jwt.sign")
+                .description("Time to build and sign an access token")
+                .register(meterRegistry);
+        this.verifyTimer = verifyTimer(meterRegistry, "valid");
+        Map<String, Timer> failureTimers = new HashMap<>();
+        for (String outcome : FAILURE_OUTCOMES) {
+            failureTimers.put(outcome, verifyTimer(meterRegistry, outcome));
+        }
+        this.failureTimers = Map.copyOf(failureTimers);
+        this.jwtParser = Jwts.parser()
+                .keyLocator(header -> header instanceof ProtectedHeader protectedHeader
+                        ? findVerificationKey(protectedHeader.getKeyId())
+                        : null)
+                .build();
+    }
+
+    public String generateAccessToken(AppUser appUser){
         List<String> roleNames = new ArrayList<>();
         for( AppRole role : appUser.getRoles()){
             String roleName = role.getName();
@@ -44,30 +95,121 @@ public class JwtService {
                     roleName : "ROLE_" + roleName;
             roleNames.add(authority);
         }
+        return generateAccessToken(appUser.getId(), appUser.getUsername(), roleNames, appUser.getTokenVersion());
+    }
+
+    /**
+     * Same token as {@link #generateAccessToken(AppUser)}, minted from the authenticated principal
+     * so login does not load the user a second time. Authorities already carry the ROLE_ prefix.
+     */
+    public String generateAccessToken(CustomUserDetails userDetails){
+        List<String> roleNames = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return generateAccessToken(
+                userDetails.getId(), userDetails.getUsername(), roleNames, userDetails.getTokenVersion());
+    }
+
+    private String generateAccessToken(Long userId, String username, List<String> roleNames, int tokenVersion){
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId);
+        claims.put("username", username);
         claims.put("roles", roleNames);
+        claims.put("tokenVersion", tokenVersion);
 
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtSigningKey signingKey = keyRing.activeKey();
+        long start = System.nanoTime();
+        String token = Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
                 .claims(claims)
-                .subject(appUser.getUsername())
+                .id(UUID.randomUUID().toString())
+                .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey.signingKey(), signingKey.algorithm().digestAlgorithm())
                 .compact();
+        signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    /**
+     * Verify signature + expiration exactly once and return a typed view of the claims.
+     * Throws {@link io.jsonwebtoken.JwtException} when the token is malformed, tampered or expired.
+     */
+    public JwtClaims verifyToken(String token){
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = extractClaims(token);
+        } catch (RuntimeException e) {
+            failureTimers.get(failureOutcome(e)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new JwtClaims(
+                claims.getId(),
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                toRoleNames(claims.get("roles", List.class)),
+                toTokenVersion(claims.get("tokenVersion", Integer.class)),
+                claims.getExpiration().toInstant()
+        );
     }
 
     public String extractUsername(String token){
-        return extractClaims(token).getSubject();
+        return verifyToken(token).username();
     }
 
     public Long extractUserId(String token){
-        return extractClaims(token).get("userId", Long.class);
+        return verifyToken(token).userId();
     }
 
     public List<String> extractRoles(String token){
-        List<?> roles = extractClaims(token).get("roles", List.class);
+        return verifyToken(token).roles();
+    }
+
+    public boolean isTokenValid(String token){
+        try {
+            verifyToken(token);
+            return true;
+        } catch (Exception e){
+            log.error("Invalid jwt token: {}",e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Metric tag for a verification failure: expired | malformed | invalid_signature | invalid.
+     */
+    public static String failureOutcome(Exception e){
+        if( e instanceof ExpiredJwtException){
+            return "expired";
+        }
+        if( e instanceof MalformedJwtException || e instanceof IllegalArgumentException){
+            return "malformed";
+        }
+        if( e instanceof io.jsonwebtoken.security.SecurityException){
+            return "invalid_signature";
+        }
+        return "invalid";
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome){
+        return Timer.builder("auth.jwt.verify")
+                .description("Time to verify an access token (signature, expiration, claims)")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private int toTokenVersion(Integer tokenVersion){
+        // tokens minted before the claim was added
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
+    private List<String> toRoleNames(List<?> roles){
         if( roles == null){
             return  Collections.emptyList();
         }
@@ -79,31 +221,30 @@ public class JwtService {
         return roleName;
     }
 
-    public boolean isTokenValid(String token){
-        try {
-            extractClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e){
-            log.error("Invalid jwt token: {}",e.getMessage());
-            return false;
+    /**
+     * Public keys of every key in the ring (active, upcoming and retiring) for /.well-known/jwks.json.
+     * HMAC keys are never published.
+     */
+    public List<PublicJwk<?>> getPublicJwks(){
+        List<PublicJwk<?>> publicJwks = new ArrayList<>();
+        for( JwtSigningKey key : keyRing.keys()){
+            if( key.publicJwk() != null){
+                publicJwks.add(key.publicJwk());
+            }
         }
+        return publicJwks;
     }
 
-    private boolean isTokenExpired(String token){
-        return extractClaims(token).getExpiration().before(new Date());
+    private Key findVerificationKey(String keyId){
+        // tokens issued before kid was added have no header kid
+        JwtSigningKey key = keyId == null ? keyRing.activeKey() : keyRing.find(keyId);
+        return key == null ? null : key.verificationKey();
     }
 
     private Claims extractClaims(String token){
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyByte = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyByte);
-    }
-
 }
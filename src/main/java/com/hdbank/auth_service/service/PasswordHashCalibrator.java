@@ -0,0 +1,142 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.dto.response.PasswordHashCalibrationResponse;
+import com.hdbank.auth_service.dto.response.PasswordHashCalibrationResponse.Recommendation;
+import com.hdbank.auth_service.security.PasswordEncoders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures hash time on the current hardware and recommends the highest work factor per algorithm
+ * that still fits a target latency. Floors follow current OWASP guidance, so a slow node gets the
+ * floor (within_target=false) rather than a weaker setting.
+ * Runs on the calling thread and burns CPU for a few seconds: call it on a node out of rotation.
+ */
+@Service
+@Slf4j
+public class PasswordHashCalibrator {
+
+    static final long MIN_TARGET_MILLIS = 10;
+    static final long MAX_TARGET_MILLIS = 2000;
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password123";
+
+    private static final int BCRYPT_MIN_STRENGTH = 10;
+    private static final int BCRYPT_MAX_STRENGTH = 20;
+    private static final int ARGON2_MIN_ITERATIONS = 2;
+    private static final int ARGON2_MAX_ITERATIONS = 20;
+    private static final int PBKDF2_MIN_ITERATIONS = 600_000;
+    private static final int PBKDF2_PROBE_ITERATIONS = 100_000;
+    private static final int PBKDF2_STEP = 10_000;
+
+    private final PasswordEncoder passwordEncoder;
+    private final String idForEncode;
+    private final int argon2MemoryKib;
+    private final int argon2Parallelism;
+
+    public PasswordHashCalibrator(
+            PasswordEncoder passwordEncoder,
+            @Value("${password.encoder.id:bcrypt}") String idForEncode,
+            @Value("${password.encoder.argon2.memory-kib:19456}") int argon2MemoryKib,
+            @Value("${password.encoder.argon2.parallelism:1}") int argon2Parallelism
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.idForEncode = idForEncode;
+        this.argon2MemoryKib = argon2MemoryKib;
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    public PasswordHashCalibrationResponse calibrate(Duration target) {
+        long targetMillis = Math.clamp(target.toMillis(), MIN_TARGET_MILLIS, MAX_TARGET_MILLIS);
+
+        Map<String, Recommendation> recommendations = new LinkedHashMap<>();
+        recommendations.put(PasswordEncoders.BCRYPT, calibrateBcrypt(targetMillis));
+        recommendations.put(PasswordEncoders.ARGON2, calibrateArgon2(targetMillis));
+        recommendations.put(PasswordEncoders.PBKDF2, calibratePbkdf2(targetMillis));
+        log.info("Password hashing calibration for {}ms: {}", targetMillis, recommendations);
+
+        return PasswordHashCalibrationResponse.builder()
+                .targetMillis(targetMillis)
+                .availableProcessors(Runtime.getRuntime().availableProcessors())
+                .currentEncoder(idForEncode)
+                .currentMillis(measure(passwordEncoder))
+                .recommendations(recommendations)
+                .build();
+    }
+
+    private Recommendation calibrateBcrypt(long targetMillis) {
+        // each step doubles the cost: stop at the first strength over the target
+        int strength = BCRYPT_MIN_STRENGTH;
+        double millis = measure(PasswordEncoders.bcrypt(strength));
+        boolean withinTarget = millis <= targetMillis;
+        while (withinTarget && strength < BCRYPT_MAX_STRENGTH) {
+            double next = measure(PasswordEncoders.bcrypt(strength + 1));
+            if (next > targetMillis) {
+                break;
+            }
+            strength++;
+            millis = next;
+        }
+        return recommendation(Map.of("password.encoder.bcrypt.strength", strength), millis, withinTarget);
+    }
+
+    private Recommendation calibrateArgon2(long targetMillis) {
+        // memory and parallelism stay as configured, only the pass count is tuned
+        int iterations = ARGON2_MIN_ITERATIONS;
+        double millis = measure(PasswordEncoders.argon2(argon2MemoryKib, iterations, argon2Parallelism));
+        boolean withinTarget = millis <= targetMillis;
+        while (withinTarget && iterations < ARGON2_MAX_ITERATIONS) {
+            double next = measure(PasswordEncoders.argon2(argon2MemoryKib, iterations + 1, argon2Parallelism));
+            if (next > targetMillis) {
+                break;
+            }
+            iterations++;
+            millis = next;
+        }
+        return recommendation(Map.of(
+                "password.encoder.argon2.memory-kib", argon2MemoryKib,
+                "password.encoder.argon2.iterations", iterations,
+                "password.encoder.argon2.parallelism", argon2Parallelism
+        ), millis, withinTarget);
+    }
+
+    private Recommendation calibratePbkdf2(long targetMillis) {
+        // cost is linear in the iteration count: probe once, scale, then confirm
+        double probeMillis = measure(PasswordEncoders.pbkdf2(PBKDF2_PROBE_ITERATIONS));
+        long scaled = (long) (PBKDF2_PROBE_ITERATIONS * targetMillis / Math.max(probeMillis, 0.001));
+        int iterations = (int) Math.clamp(scaled / PBKDF2_STEP * PBKDF2_STEP, PBKDF2_MIN_ITERATIONS, Integer.MAX_VALUE);
+        double millis = measure(PasswordEncoders.pbkdf2(iterations));
+        return recommendation(Map.of("password.encoder.pbkdf2.iterations", iterations), millis, millis <= targetMillis);
+    }
+
+    private static Recommendation recommendation(Map<String, Object> properties, double millis, boolean withinTarget) {
+        return Recommendation.builder()
+                .properties(properties)
+                .measuredMillis(Math.round(millis * 10) / 10.0)
+                .withinTarget(withinTarget)
+                .build();
+    }
+
+    /**
+     * Median encode time in milliseconds, after one warm-up run.
+     */
+    private static double measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,125 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, CPU-sized pool for password hashing (PasswordEncoder encode / matches, see HashingPoolPasswordEncoder),
+ * so a login burst cannot use more CPU than the pool has threads. Only the hash runs here: the caller keeps
+ * its transaction and database work on its own thread.
+ * The queue is bounded: when it is full, callers fail fast with {@link ServiceOverloadedException} (503),
+ * which also caps how many request threads can be waiting on a hash. The wait is bounded too
+ * (password.hashing.max-wait): past it the caller gets the same 503, and a task still queued is skipped.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer queueWait;
+    private final Timer execution;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public PasswordHashingExecutor(
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${password.hashing.max-wait:PT5S}") Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.maxWait = maxWait;
+
+        Gauge.builder("auth.password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("Tasks waiting for a password hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads currently busy")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("auth.password.hashing.wait")
+                .description("Time a task waited in the password hashing queue")
+                .register(meterRegistry);
+        this.execution = Timer.builder("auth.password.hashing.duration")
+                .description("Time spent running a password hashing task")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Tasks rejected because the password hashing queue was full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("auth.password.hashing.timeout")
+                .description("Callers that gave up after password.hashing.max-wait")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor: threads={}, queueCapacity={}, maxWait={}", poolSize, queueCapacity, maxWait);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return execution.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue full ({} waiting), rejecting request", executor.getQueue().size());
+            throw new ServiceOverloadedException("Authentication service is busy, please retry shortly");
+        }
+    }
+
+    /**
+     * Run the task on the pool and wait for its result, at most max-wait; exceptions thrown by the task are
+     * rethrown as is. On timeout the future is completed, so a task still in the queue never runs
+     * (CompletableFuture skips an already completed supplier).
+     */
+    public <T> T call(Supplier<T> task) {
+        try {
+            return submit(task).orTimeout(maxWait.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                timedOut.increment();
+                log.warn("Password hashing took longer than {} ({} waiting), rejecting request",
+                        maxWait, executor.getQueue().size());
+                throw new ServiceOverloadedException("Authentication service is busy, please retry shortly");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,131 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
+import com.hdbank.auth_service.security.OpaqueTokens;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Redis refresh token store (refresh-token.store.type=redis):
+ * - {prefix}token:{sha256 of token} -> user id, expiring with the token (PX), so nothing to purge
+ * - {prefix}user:{user id} -> set of the user's token keys, to retire them all at once
+ * Issue, rotate and revoke each run as one Lua script, so a token can only be rotated once.
+ * Scripts derive the user key from the token value: single node / primary-replica only, not Redis Cluster.
+ * Only the user id is kept per token (no ip address / user agent).
+ */
+@Service
+@ConditionalOnProperty(name = "refresh-token.store.type", havingValue = "redis")
+@Slf4j
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    // KEYS[1] user key, KEYS[2] new token key; ARGV[1] user id, ARGV[2] ttl millis
+    private static final RedisScript<Long> ISSUE = new DefaultRedisScript<>("""
+            local old = redis.call('SMEMBERS', KEYS[1])
+            if #old > 0 then redis.call('DEL', unpack(old)) end
+            redis.call('DEL', KEYS[1])
+            redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+            redis.call('SADD', KEYS[1], KEYS[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS[1] presented token key, KEYS[2] new token key; ARGV[1] ttl millis, ARGV[2] user key prefix
+    private static final RedisScript<Long> ROTATE = new DefaultRedisScript<>("""
+            local userId = redis.call('GET', KEYS[1])
+            if not userId then return nil end
+            local userKey = ARGV[2] .. userId
+            local old = redis.call('SMEMBERS', userKey)
+            if #old > 0 then redis.call('DEL', unpack(old)) end
+            redis.call('DEL', userKey, KEYS[1])
+            redis.call('SET', KEYS[2], userId, 'PX', ARGV[1])
+            redis.call('SADD', userKey, KEYS[2])
+            redis.call('PEXPIRE', userKey, ARGV[1])
+            return tonumber(userId)
+            """, Long.class);
+
+    // KEYS[1] token key; ARGV[1] user key prefix
+    private static final RedisScript<Long> REVOKE = new DefaultRedisScript<>("""
+            local userId = redis.call('GET', KEYS[1])
+            if not userId then return 0 end
+            redis.call('SREM', ARGV[1] .. userId, KEYS[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    // KEYS[1] user key
+    private static final RedisScript<Long> REVOKE_ALL = new DefaultRedisScript<>("""
+            local old = redis.call('SMEMBERS', KEYS[1])
+            local revoked = 0
+            if #old > 0 then revoked = redis.call('DEL', unpack(old)) end
+            redis.call('DEL', KEYS[1])
+            return revoked
+            """, Long.class);
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final StringRedisTemplate redisTemplate;
+    private final long refreshTokenExpiration;
+    private final String tokenKeyPrefix;
+    private final String userKeyPrefix;
+
+    public RedisRefreshTokenStore(
+            StringRedisTemplate redisTemplate,
+            @Value("${jwt.refresh-expiration}") long refreshTokenExpiration,
+            @Value("${refresh-token.store.redis.key-prefix:auth:refresh:}") String keyPrefix
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.tokenKeyPrefix = keyPrefix + "token:";
+        this.userKeyPrefix = keyPrefix + "user:";
+    }
+
+    @Override
+    public String issueRefreshToken(AppUser user, String ipAddress, String userAgent) {
+        String token = OpaqueTokens.generate();
+        redisTemplate.execute(ISSUE,
+                List.of(userKeyPrefix + user.getId(), tokenKey(token)),
+                String.valueOf(user.getId()),
+                String.valueOf(refreshTokenExpiration));
+        return token;
+    }
+
+    @Override
+    public Rotation rotateRefreshToken(String token, String ipAddress, String userAgent) {
+        String newToken = OpaqueTokens.generate();
+        Long userId = redisTemplate.execute(ROTATE,
+                List.of(tokenKey(token), tokenKey(newToken)),
+                String.valueOf(refreshTokenExpiration),
+                userKeyPrefix);
+        if (userId == null) {
+            throw new InvalidRefreshTokenException("Refresh token is invalid, revoked or expired");
+        }
+        return new Rotation(userId, newToken);
+    }
+
+    @Override
+    public void revokeRefreshToken(String token) {
+        Long revoked = redisTemplate.execute(REVOKE, List.of(tokenKey(token)), userKeyPrefix);
+        if (revoked == null || revoked == 0) {
+            throw new InvalidRefreshTokenException("Refresh token not found");
+        }
+    }
+
+    @Override
+    public int revokeAllByUserId(Long userId) {
+        Long revoked = redisTemplate.execute(REVOKE_ALL, List.of(userKeyPrefix + userId));
+        log.info("Revoked {} tokens for user ID: {}", revoked, userId);
+        return revoked == null ? 0 : revoked.intValue();
+    }
+
+    private String tokenKey(String token) {
+        return tokenKeyPrefix + KEY_ENCODER.encodeToString(OpaqueTokens.hash(token));
+    }
+}
@@ -0,0 +1,156 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Purges refresh tokens in small keyset-paginated batches, one short transaction per batch:
+ * - soft-deletes live tokens past expiry
+ * - hard-deletes tokens that expired more than the retention window ago. With partitioning enabled
+ *   RefreshTokenPartitionMaintenance drops whole monthly partitions first, so this only finds what is left
+ *   in refresh_tokens_default; with partitioning disabled it is what keeps the table from growing forever
+ * Batches are separated by a pause so replicas and autovacuum keep up; a run stops when its time budget is
+ * spent and the next run picks up the rest.
+ */
+@Service
+@Slf4j
+public class RefreshTokenPurgeService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration timeBudget;
+    private final Duration retention;
+
+    private final Counter softDeleted;
+    private final Counter hardDeleted;
+    private final Counter batches;
+    private final Timer runs;
+
+    public RefreshTokenPurgeService(
+            RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${refresh-token.purge.batch-size:1000}") int batchSize,
+            @Value("${refresh-token.purge.pause:PT0.1S}") Duration pause,
+            @Value("${refresh-token.purge.time-budget:PT10M}") Duration timeBudget,
+            @Value("${refresh-token.purge.retention:P30D}") Duration retention
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.timeBudget = timeBudget;
+        this.retention = retention;
+
+        this.softDeleted = Counter.builder("auth.refresh_tokens.purge.soft_deleted")
+                .description("Expired refresh tokens soft-deleted by the purge")
+                .register(meterRegistry);
+        this.hardDeleted = Counter.builder("auth.refresh_tokens.purge.hard_deleted")
+                .description("Refresh tokens past retention deleted by the purge")
+                .register(meterRegistry);
+        this.batches = Counter.builder("auth.refresh_tokens.purge.batches")
+                .description("Purge batches committed")
+                .register(meterRegistry);
+        this.runs = Timer.builder("auth.refresh_tokens.purge.duration")
+                .description("Duration of a purge run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rows affected by one purge run; completed=false when the time budget ran out first.
+     */
+    public record PurgeResult(long softDeleted, long hardDeleted, long batches, boolean completed) {
+    }
+
+    public PurgeResult purge() {
+        return runs.record(() -> {
+            Instant now = Instant.now();
+            Instant deadline = now.plus(timeBudget);
+            Instant cutoff = now.minus(retention);
+
+            Phase soft = runPhase("soft-delete", deadline, softDeleted, afterId -> {
+                List<Long> ids = refreshTokenRepository.findExpiredLiveIds(now, afterId, Limit.of(batchSize));
+                return new Batch(ids, ids.isEmpty() ? 0 : refreshTokenRepository.softDeleteByIds(ids, now, "SYSTEM"));
+            });
+            Phase hard = soft.completed()
+                    ? runPhase("hard-delete", deadline, hardDeleted, afterId -> {
+                        List<Long> ids = refreshTokenRepository.findExpiredBeforeIds(cutoff, afterId, Limit.of(batchSize));
+                        return new Batch(ids, ids.isEmpty() ? 0 : refreshTokenRepository.hardDeleteByIds(ids, cutoff));
+                    })
+                    : new Phase(0, 0, false);
+
+            PurgeResult result = new PurgeResult(soft.rows(), hard.rows(), soft.batches() + hard.batches(),
+                    hard.completed());
+            log.info("[PURGE] Refresh tokens: soft-deleted={}, hard-deleted={}, batches={}, completed={}",
+                    result.softDeleted(), result.hardDeleted(), result.batches(), result.completed());
+            return result;
+        });
+    }
+
+    private record Batch(List<Long> ids, int affected) {
+    }
+
+    private record Phase(long rows, long batches, boolean completed) {
+    }
+
+    private Phase runPhase(String name, Instant deadline, Counter affected, Function<Long, Batch> nextBatch) {
+        long total = 0;
+        long batchCount = 0;
+        long afterId = 0;
+        while (true) {
+            if (Instant.now().isAfter(deadline)) {
+                log.warn("[PURGE] Time budget spent in {} after {} batches, stopping at id {}", name, batchCount, afterId);
+                return new Phase(total, batchCount, false);
+            }
+
+            long fromId = afterId;
+            Batch batch = transactionTemplate.execute(status -> nextBatch.apply(fromId));
+            if (batch == null || batch.ids().isEmpty()) {
+                return new Phase(total, batchCount, true);
+            }
+            total += batch.affected();
+            affected.increment(batch.affected());
+            batchCount++;
+            batches.increment();
+            afterId = batch.ids().getLast();
+            if (batchCount % 100 == 0) {
+                log.info("[PURGE] {}: {} rows in {} batches, at id {}", name, total, batchCount, afterId);
+            }
+
+            if (batch.ids().size() < batchSize) {
+                return new Phase(total, batchCount, true);
+            }
+            if (!sleep(pause)) {
+                return new Phase(total, batchCount, false);
+            }
+        }
+    }
+
+    private static boolean sleep(Duration pause) {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
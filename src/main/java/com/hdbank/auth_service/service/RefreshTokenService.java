@@ -4,37 +4,96 @@ import com.hdbank.auth_service.entity.AppUser;
 import com.hdbank.auth_service.entity.RefreshToken;
 import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
 import com.hdbank.auth_service.repository.RefreshTokenRepository;
+import com.hdbank.auth_service.security.OpaqueTokens;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DatabaseDriver;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
 
+/**
+ * JPA refresh token store (refresh-token.store.type=jpa, the default).
+ */
 @Service
+@ConditionalOnProperty(name = "refresh-token.store.type", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class RefreshTokenService {
+public class RefreshTokenService implements RefreshTokenStore {
+
+    // users per bulk revoke statement (IN list size)
+    private static final int REVOKE_BATCH_SIZE = 1000;
 
     private final RefreshTokenRepository refreshTokenRepository;
 
     @Value("${jwt.refresh-expiration}")
     private Long refreshTokenExpiration;
 
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    /**
+     * PostgreSQL: retire + insert run as one data-modifying CTE (one round trip).
+     * Other databases (H2 in tests) fall back to separate statements.
+     */
+    private boolean singleStatementRotation;
+
+    @PostConstruct
+    void detectDatabase() {
+        singleStatementRotation = StringUtils.hasLength(datasourceUrl)
+                && DatabaseDriver.fromJdbcUrl(datasourceUrl) == DatabaseDriver.POSTGRESQL;
+        log.info("Refresh token rotation: {}", singleStatementRotation ? "single statement" : "multi statement");
+    }
+
+    @Override
+    @Transactional
+    public String issueRefreshToken(AppUser user, String ipAddress, String userAgent) {
+        return createRefreshToken(user, ipAddress, userAgent).getToken();
+    }
+
     @Transactional
     public RefreshToken createRefreshToken(
             AppUser user,
             String ipAddress,
             String userAgent
     ) {
+        if (singleStatementRotation) {
+            Instant now = Instant.now();
+            String token = OpaqueTokens.generate();
+            RefreshToken refreshToken = RefreshToken.builder()
+                    .user(user)
+                    .token(token)
+                    .tokenHash(OpaqueTokens.hash(token))
+                    .issuedAt(now)
+                    .expiresAt(now.plusMillis(refreshTokenExpiration))
+                    .revoked(false)
+                    .ipAddress(ipAddress)
+                    .userAgent(userAgent)
+                    .build();
+            refreshToken.setId(refreshTokenRepository.issueForUser(
+                    user.getId(),
+                    refreshToken.getTokenHash(),
+                    now,
+                    refreshToken.getExpiresAt(),
+                    ipAddress,
+                    userAgent
+            ));
+            return refreshToken;
+        }
+
         refreshTokenRepository.softDeleteByUserId(user.getId(), Instant.now(), "SYSTEM");
 
+        String token = OpaqueTokens.generate();
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
-                .token(UUID.randomUUID().toString())
+                .token(token)
+                .tokenHash(OpaqueTokens.hash(token))
                 .issuedAt(Instant.now())
                 .expiresAt(Instant.now().plusMillis(refreshTokenExpiration))
                 .revoked(false)
@@ -44,9 +103,35 @@ public class RefreshTokenService {
         return refreshTokenRepository.save(refreshToken);
     }
 
+    /**
+     * Revoke the presented token, retire the user's other live tokens and issue a new one.
+     * Same end state as verify + revoke + create, without reading the token row into the session.
+     */
+    @Override
+    @Transactional
+    public Rotation rotateRefreshToken(String token, String ipAddress, String userAgent) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusMillis(refreshTokenExpiration);
+        byte[] tokenHash = OpaqueTokens.hash(token);
+        String newToken = OpaqueTokens.generate();
+        byte[] newTokenHash = OpaqueTokens.hash(newToken);
+
+        if (singleStatementRotation) {
+            Long userId = refreshTokenRepository.rotate(tokenHash, newTokenHash, now, expiresAt, ipAddress, userAgent)
+                    .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token is invalid, revoked or expired"));
+            return new Rotation(userId, newToken);
+        }
+
+        Long userId = refreshTokenRepository.findLiveUserIdByTokenHash(tokenHash, now)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token is invalid, revoked or expired"));
+        refreshTokenRepository.retireByUserId(userId, tokenHash, now);
+        refreshTokenRepository.insertForUser(userId, newTokenHash, now, expiresAt, ipAddress, userAgent);
+        return new Rotation(userId, newToken);
+    }
+
     @Transactional(readOnly = true)
     public RefreshToken verifyRefreshToken(String token){
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenAndDeletedFalse(token)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHashAndDeletedFalse(OpaqueTokens.hash(token))
                 .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token not found"));
 
         if(refreshToken.isRevoked()){
@@ -58,42 +143,38 @@ public class RefreshTokenService {
         return refreshToken;
     }
 
+    @Override
     @Transactional
     public void revokeRefreshToken(String token){
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenAndDeletedFalse(token)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHashAndDeletedFalse(OpaqueTokens.hash(token))
                 .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token not found"));
         refreshToken.setRevoked(true);
         refreshToken.setRevokedAt(Instant.now());
         refreshTokenRepository.save(refreshToken);
     }
 
+    @Override
     @Transactional
-    public void deleteExpiredTokens() {
-        refreshTokenRepository.softDeleteExpiredTokens(
-                Instant.now(),
-                Instant.now(),
-                "SYSTEM"
-        );
+    public int revokeAllByUserId(Long userId) {
+        int revoked = refreshTokenRepository.revokeByUserId(userId, Instant.now(), "SYSTEM");
+        log.info("Revoked and soft-deleted {} tokens for user ID: {}", revoked, userId);
+        return revoked;
     }
 
+    /**
+     * One bulk statement per REVOKE_BATCH_SIZE users.
+     */
+    @Override
     @Transactional
-    public void revokeAllByUserId(Long userId) {
-        List<RefreshToken> tokens = refreshTokenRepository.findByUser_IdAndDeletedFalse(userId);
-
-        if (tokens.isEmpty()) {
-            return;
-        }
-
+    public long revokeAllByUserIds(List<Long> userIds) {
         Instant now = Instant.now();
-
-        tokens.forEach(token -> {
-            token.setRevoked(true);
-            token.setRevokedAt(now);
-        });
-
-        refreshTokenRepository.saveAll(tokens);
-        refreshTokenRepository.softDeleteByUserId(userId, now, "SYSTEM");
-        log.info("Revoked and soft-deleted {} tokens for user ID: {}", tokens.size(), userId);
+        long revoked = 0;
+        for (int from = 0; from < userIds.size(); from += REVOKE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + REVOKE_BATCH_SIZE, userIds.size()));
+            revoked += refreshTokenRepository.revokeByUserIds(batch, now, "SYSTEM");
+        }
+        log.info("Revoked and soft-deleted {} tokens for {} users", revoked, userIds.size());
+        return revoked;
     }
 
 
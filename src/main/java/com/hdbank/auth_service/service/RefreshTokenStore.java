@@ -0,0 +1,49 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.entity.AppUser;
+
+import java.util.List;
+
+/**
+ * Where refresh tokens live, selected with refresh-token.store.type:
+ * - jpa (default): refresh_tokens table, see RefreshTokenService
+ * - redis: one key per token with a native TTL, see RedisRefreshTokenStore
+ * Every implementation keeps one live token per user: issuing or rotating retires the others.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * New refresh token of a rotation, with the id of the user it belongs to.
+     */
+    record Rotation(Long userId, String token) {
+    }
+
+    /**
+     * Retire the user's live tokens and issue a new one; returns the raw token (handed out once).
+     */
+    String issueRefreshToken(AppUser user, String ipAddress, String userAgent);
+
+    /**
+     * Revoke the presented token, retire the user's other live tokens and issue a new one, atomically.
+     * Throws InvalidRefreshTokenException when the token is unknown, revoked, expired or already rotated.
+     */
+    Rotation rotateRefreshToken(String token, String ipAddress, String userAgent);
+
+    void revokeRefreshToken(String token);
+
+    /**
+     * Revoke every live token of the user; returns the number of tokens revoked.
+     */
+    int revokeAllByUserId(Long userId);
+
+    /**
+     * Revoke every live token of each user; returns the number of tokens revoked.
+     */
+    default long revokeAllByUserIds(List<Long> userIds) {
+        long revoked = 0;
+        for (Long userId : userIds) {
+            revoked += revokeAllByUserId(userId);
+        }
+        return revoked;
+    }
+}
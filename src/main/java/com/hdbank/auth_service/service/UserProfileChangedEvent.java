@@ -0,0 +1,7 @@
+package com.hdbank.auth_service.service;
+
+/**
+ * A user's profile row changed; UserService drops the cached /me profile once the change commits.
+ */
+public record UserProfileChangedEvent(Long userId) {
+}
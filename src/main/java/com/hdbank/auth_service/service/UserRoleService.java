@@ -0,0 +1,51 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.config.CacheConfig;
+import com.hdbank.auth_service.repository.AppUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Role names of a user (as stored in app_roles, without the ROLE_ prefix), served from the userRoles cache:
+ * login, refresh and /me load the user row alone and take the roles from here.
+ * Code that changes a user's roles publishes UserRolesChangedEvent (today: register); the cached entries are
+ * evicted after commit, so a concurrent read cannot put the old roles back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserRoleService {
+
+    private final AppUserRepository appUserRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfig.USER_ROLES, key = "#userId")
+    @Transactional(readOnly = true)
+    public Set<String> getRoleNames(Long userId) {
+        return Set.copyOf(appUserRepository.findRoleNamesByUserId(userId));
+    }
+
+    // the cached /me profile carries the roles too
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        evict(CacheConfig.USER_ROLES, event.userId());
+        evict(CacheConfig.USER_INFO, event.userId());
+        log.debug("Evicted cached roles of user ID: {}", event.userId());
+    }
+
+    private void evict(String cacheName, Long userId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.hdbank.auth_service.service;
+
+/**
+ * The roles of a user changed; UserRoleService drops the cached roles and profile once the change commits.
+ */
+public record UserRolesChangedEvent(Long userId) {
+}
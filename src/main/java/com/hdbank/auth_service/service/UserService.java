@@ -1,19 +1,32 @@
 package com.hdbank.auth_service.service;
 
+import com.hdbank.auth_service.config.CacheConfig;
 import com.hdbank.auth_service.dto.UserInfo;
 import com.hdbank.auth_service.dto.request.ChangePasswordRequest;
-import com.hdbank.auth_service.entity.AppRole;
 import com.hdbank.auth_service.entity.AppUser;
 import com.hdbank.auth_service.exception.InvalidPasswordException;
 import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.security.TokenVersionChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.stream.Collectors;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
@@ -21,9 +34,19 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final AppUserRepository appUserRepository;
-    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserRoleService userRoleService;
 
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * UserInfo with its ETag, computed once when the profile is cached.
+     */
+    public record UserProfile(UserInfo userInfo, String etag) {
+    }
 
     @Transactional(readOnly = true)
     public AppUser findByUserName(String username){
@@ -31,31 +54,76 @@ public class UserService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
+    /**
+     * Read-through profile cache for /me, keyed by user id (from the access token).
+     * Evicted after a password change commits (UserProfileChangedEvent) and with the user's roles
+     * (UserRoleService), so a concurrent /me cannot cache the profile read before the commit.
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_INFO, key = "#userId")
     @Transactional(readOnly = true)
-    public UserInfo getUserInfo(String username){
-        AppUser user = findByUserName(username);
-        return UserInfo.builder()
+    public UserProfile getUserProfile(Long userId){
+        AppUser user = appUserRepository.findByIdAndDeletedFalse(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
+        UserInfo userInfo = UserInfo.builder()
                 .id(user.getId())
                 .username(user.getUsername())
                 .fullName(user.getFullName())
                 .enabled(user.isEnabled())
-                .roles(user.getRoles()
-                        .stream()
-                        .map(AppRole::getName)
-                        .collect(Collectors.toSet()))
+                .roles(userRoleService.getRoleNames(user.getId()))
                 .build();
+        return new UserProfile(userInfo, etag(userInfo));
     }
 
-    @Transactional
+    /**
+     * Not transactional: the user is loaded in a read-only transaction and both hashes (old password check,
+     * new password encode) run on the hashing pool with no connection held. The update, the token version
+     * bump and the refresh token revocation then run in one short transaction, which re-reads the row and
+     * refuses the change if another password change committed in between.
+     */
     public void changePassword(String username, ChangePasswordRequest request){
         AppUser user = findByUserName(username);
         if(!passwordEncoder.matches(request.getOldPassword(), user.getPasswordHash())){
             throw new InvalidPasswordException("Old password is incorrect");
         }
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
-        appUserRepository.save(user);
-        refreshTokenService.revokeAllByUserId(user.getId());
+        String newHash = passwordEncoder.encode(request.getNewPassword());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            AppUser current = findByUserName(username);
+            // another password change committed since the check (a login rehash keeps the version)
+            if (current.getTokenVersion() != user.getTokenVersion()) {
+                throw new InvalidPasswordException("Old password is incorrect");
+            }
+            current.setPasswordHash(newHash);
+            // same row write: every access token minted before is rejected from now on
+            current.setTokenVersion(current.getTokenVersion() + 1);
+            current.setTokenVersionChangedAt(Instant.now());
+            appUserRepository.save(current);
+            eventPublisher.publishEvent(new TokenVersionChange(
+                    current.getId(), current.getTokenVersion(), current.getTokenVersionChangedAt()));
+            refreshTokenStore.revokeAllByUserId(current.getId());
+            eventPublisher.publishEvent(new UserProfileChangedEvent(current.getId()));
+        });
 
         log.info("Password changed and all tokens revoked for user: {}", username);
     }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_INFO);
+        if (cache != null) {
+            cache.evict(event.userId());
+        }
+    }
+
+    // strong ETag over the serialized fields; roles sorted so equal profiles get equal tags
+    private static String etag(UserInfo userInfo) {
+        String content = userInfo.getId() + "|" + userInfo.getUsername() + "|" + userInfo.getFullName()
+                + "|" + userInfo.isEnabled() + "|" + new TreeSet<>(userInfo.getRoles());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,81 @@
+-- Range-partition refresh_tokens by expires_at (one partition per month).
+-- Retention then drops whole partitions (RefreshTokenPartitionMaintenance) instead of deleting rows.
+-- The partition key must be part of every unique constraint: PK (id, expires_at), UNIQUE (token, expires_at).
+-- Queries that filter on expires_at (rotation, purge) are pruned to the matching partitions.
+-- Runs in one transaction holding an ACCESS EXCLUSIVE lock on refresh_tokens from the first read to the
+-- DROP: logins and refreshes wait for the copy (plan it off-peak on large tables) but no row is lost.
+
+LOCK TABLE refresh_tokens IN ACCESS EXCLUSIVE MODE;
+
+CREATE TABLE refresh_tokens_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('refresh_tokens_id_seq'),
+    user_id BIGINT NOT NULL,
+    token VARCHAR (255) NOT NULL,
+    issued_at TIMESTAMPTZ NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+
+    -- revoke and tracking
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    revoked_at TIMESTAMPTZ DEFAULT NULL,
+    ip_address VARCHAR(50),
+    user_agent VARCHAR(500),
+
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NULL DEFAULT NOW(),
+    deleted_at TIMESTAMPTZ,
+    created_by VARCHAR(100) NOT NULL,
+    updated_by VARCHAR(100),
+    deleted_by VARCHAR(100),
+    is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at),
+    CONSTRAINT uq_refresh_tokens_token UNIQUE (token, expires_at),
+    CONSTRAINT fk_refresh_tokens_user_id FOREIGN KEY(user_id) REFERENCES app_users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+-- catches rows outside the prepared months; maintenance creates partitions ahead so it stays empty
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens_partitioned DEFAULT;
+
+-- monthly partitions (UTC month boundaries) from the oldest stored token, or last month, to three months ahead
+DO $$
+DECLARE
+    month_start DATE := LEAST(
+            date_trunc('month', (SELECT MIN(expires_at) FROM refresh_tokens) AT TIME ZONE 'UTC')::DATE,
+            (date_trunc('month', NOW() AT TIME ZONE 'UTC') - INTERVAL '1 month')::DATE);
+    last_month DATE := (date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months')::DATE;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+                'CREATE TABLE %I PARTITION OF refresh_tokens_partitioned FOR VALUES FROM (%L) TO (%L)',
+                'refresh_tokens_p' || to_char(month_start, 'YYYY_MM'),
+                to_char(month_start, 'YYYY-MM-DD') || ' 00:00:00+00',
+                to_char(month_start + INTERVAL '1 month', 'YYYY-MM-DD') || ' 00:00:00+00');
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO refresh_tokens_partitioned
+SELECT id, user_id, token, issued_at, expires_at, revoked, revoked_at, ip_address, user_agent,
+       created_at, updated_at, deleted_at, created_by, updated_by, deleted_by, is_deleted
+FROM refresh_tokens;
+
+-- keep the id sequence when the old table goes away
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY NONE;
+DROP TABLE refresh_tokens;
+ALTER TABLE refresh_tokens_partitioned RENAME TO refresh_tokens;
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+-- same indexes as V9, now created on every partition
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+
+CREATE INDEX idx_refresh_tokens_live_token
+    ON refresh_tokens(token) INCLUDE (user_id, expires_at)
+    WHERE is_deleted = FALSE AND revoked = FALSE;
+
+CREATE INDEX idx_refresh_tokens_live_user_id
+    ON refresh_tokens(user_id)
+    WHERE is_deleted = FALSE;
+
+CREATE INDEX idx_refresh_tokens_live_expires_at
+    ON refresh_tokens(expires_at)
+    WHERE is_deleted = FALSE;
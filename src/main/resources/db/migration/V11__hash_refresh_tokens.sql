@@ -0,0 +1,48 @@
+-- Store refresh tokens as 32-byte SHA-256 digests (bytea) instead of the raw VARCHAR value.
+-- The application now writes token_hash only and looks tokens up by it.
+-- Rollout path (dual read during a rolling deploy):
+--   1. this migration backfills token_hash for existing rows and keeps their raw token: instances still
+--      running the previous version look tokens up by the raw value, so their sessions keep refreshing
+--   2. the trigger fills token_hash for rows still inserted with a raw token by those instances, so the
+--      new version finds them too. Rows inserted by the new version carry no raw token: a session issued
+--      by a new instance cannot be refreshed on an old one (the client logs in again)
+--   3. once no previous-version instance is left, a follow-up migration removes the raw column, and with it
+--      every usable refresh token still at rest:
+--        DROP TRIGGER trg_refresh_tokens_hash_token ON refresh_tokens;
+--        DROP FUNCTION refresh_tokens_hash_token();
+--        ALTER TABLE refresh_tokens DROP CONSTRAINT uq_refresh_tokens_token;
+--        ALTER TABLE refresh_tokens DROP COLUMN token;
+
+ALTER TABLE refresh_tokens ADD COLUMN token_hash BYTEA;
+
+CREATE FUNCTION refresh_tokens_hash_token() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.token_hash IS NULL AND NEW.token IS NOT NULL THEN
+        NEW.token_hash := sha256(convert_to(NEW.token, 'UTF8'));
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_refresh_tokens_hash_token
+    BEFORE INSERT ON refresh_tokens
+    FOR EACH ROW EXECUTE FUNCTION refresh_tokens_hash_token();
+
+ALTER TABLE refresh_tokens ALTER COLUMN token DROP NOT NULL;
+
+UPDATE refresh_tokens
+SET token_hash = sha256(convert_to(token, 'UTF8'))
+WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT ck_refresh_tokens_token_hash_length CHECK (octet_length(token_hash) = 32);
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT uq_refresh_tokens_token_hash UNIQUE (token_hash, expires_at);
+
+-- live token lookups move from the VARCHAR token to the fixed-width digest
+DROP INDEX idx_refresh_tokens_live_token;
+CREATE INDEX idx_refresh_tokens_live_token_hash
+    ON refresh_tokens(token_hash) INCLUDE (user_id, expires_at)
+    WHERE is_deleted = FALSE AND revoked = FALSE;
@@ -0,0 +1,9 @@
+-- Per-user token epoch: access tokens carry the token_version they were minted with and are rejected
+-- once it is bumped (password change). token_version_changed_at lets every instance poll for bumps.
+ALTER TABLE app_users
+    ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN token_version_changed_at TIMESTAMPTZ;
+
+CREATE INDEX idx_app_users_token_version_changed_at
+    ON app_users(token_version_changed_at)
+    WHERE token_version_changed_at IS NOT NULL;
@@ -0,0 +1,10 @@
+-- Access tokens revoked on logout, by jti: every instance polls revoked_at into its in-memory denylist.
+-- A row is only useful until the token's exp; expired rows are deleted by the servlet instances.
+CREATE TABLE revoked_access_tokens (
+    token_id   VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMPTZ NOT NULL,
+    revoked_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX idx_revoked_access_tokens_revoked_at ON revoked_access_tokens(revoked_at);
+CREATE INDEX idx_revoked_access_tokens_expires_at ON revoked_access_tokens(expires_at);
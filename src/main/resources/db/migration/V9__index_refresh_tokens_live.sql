@@ -0,0 +1,21 @@
+-- Partial indexes matching the refresh token queries: only live rows (is_deleted = FALSE) are
+-- ever looked up, and soft-deleted history makes up most of the table.
+-- CONCURRENTLY: no write lock on refresh_tokens, needs executeInTransaction=false (see .conf)
+
+-- refresh / rotation: live token by value, user_id and expires_at read from the index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_live_token
+    ON refresh_tokens(token) INCLUDE (user_id, expires_at)
+    WHERE is_deleted = FALSE AND revoked = FALSE;
+
+-- login / rotation / change password: retire the live tokens of a user
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_live_user_id
+    ON refresh_tokens(user_id)
+    WHERE is_deleted = FALSE;
+
+-- cleanup job: live tokens past expiry
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_live_expires_at
+    ON refresh_tokens(expires_at)
+    WHERE is_deleted = FALSE;
+
+-- boolean with two values, never selective enough to be used
+DROP INDEX CONCURRENTLY IF EXISTS idx_refresh_tokens_revoked;
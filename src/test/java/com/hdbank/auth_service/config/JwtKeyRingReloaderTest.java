@@ -0,0 +1,140 @@
+package com.hdbank.auth_service.config;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.security.JwtKeyRing;
+import com.hdbank.auth_service.security.JwtKeyRingFile;
+import com.hdbank.auth_service.security.JwtSigningAlgorithm;
+import com.hdbank.auth_service.security.VerifiedTokenCache;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtKeyRingReloaderTest {
+
+    private final AppUser testUser = AppUser.builder()
+            .id(1L)
+            .username("testuser")
+            .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+            .build();
+
+    @TempDir
+    private Path dir;
+
+    private Path ringFile;
+    private JwtKeyRing keyRing;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtService jwtService;
+    private JwtKeyRingReloader reloader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        writeKeyPair("2026-09", JwtSigningAlgorithm.ES256.generateKeyPair());
+        writeKeyPair("2026-10", JwtSigningAlgorithm.ES256.generateKeyPair());
+        ringFile = dir.resolve("keyring.properties");
+        writeRing("""
+                active=2026-09
+                keys.2026-09.algorithm=ES256
+                keys.2026-09.private-key=2026-09.key.pem
+                keys.2026-09.public-key=2026-09.pub.pem
+                """, 1);
+
+        JwtKeyRingFile.Contents contents = JwtKeyRingFile.load(ringFile);
+        keyRing = new JwtKeyRing(contents.activeKeyId(), contents.keys());
+        verifiedTokenCache = new VerifiedTokenCache(true, 100, new SimpleMeterRegistry());
+        jwtService = new JwtService(keyRing, 3600000L, new SimpleMeterRegistry());
+        reloader = new JwtKeyRingReloader(keyRing, verifiedTokenCache);
+        ReflectionTestUtils.setField(reloader, "keyRingLocation", ringFile);
+        reloader.reloadIfChanged();
+    }
+
+    @Test
+    void shouldSignWithNewKeyAndOnlyVerifyWithRetiredKeyAfterReload() throws Exception {
+        String oldToken = jwtService.generateAccessToken(testUser);
+        verifiedTokenCache.get(oldToken, jwtService::verifyToken);
+
+        writeRing("""
+                active=2026-10
+                keys.2026-10.algorithm=ES256
+                keys.2026-10.private-key=2026-10.key.pem
+                keys.2026-10.public-key=2026-10.pub.pem
+                keys.2026-09.algorithm=ES256
+                keys.2026-09.public-key=2026-09.pub.pem
+                """, 2);
+        reloader.reloadIfChanged();
+
+        assertThat(keyRing.activeKey().keyId()).isEqualTo("2026-10");
+        assertThat(keyRing.find("2026-09").canSign()).isFalse();
+        assertThat(verifiedTokenCache.size()).isZero();
+        assertThat(jwtService.isTokenValid(oldToken)).isTrue();
+        assertThat(jwtService.isTokenValid(jwtService.generateAccessToken(testUser))).isTrue();
+        assertThat(jwtService.getPublicJwks()).extracting(jwk -> jwk.getId())
+                .containsExactlyInAnyOrder("2026-10", "2026-09");
+
+        writeRing("""
+                active=2026-10
+                keys.2026-10.algorithm=ES256
+                keys.2026-10.private-key=2026-10.key.pem
+                keys.2026-10.public-key=2026-10.pub.pem
+                """, 3);
+        reloader.reloadIfChanged();
+
+        assertThat(keyRing.find("2026-09")).isNull();
+        assertThat(jwtService.isTokenValid(oldToken)).isFalse();
+    }
+
+    @Test
+    void shouldKeepCurrentRingWhenFileIsBroken() throws Exception {
+        writeRing("""
+                keys.2026-10.algorithm=ES256
+                keys.2026-10.public-key=2026-10.pub.pem
+                """, 2);
+        reloader.reloadIfChanged();
+
+        assertThat(keyRing.activeKey().keyId()).isEqualTo("2026-09");
+        assertThat(jwtService.isTokenValid(jwtService.generateAccessToken(testUser))).isTrue();
+    }
+
+    @Test
+    void shouldSkipReloadWhenFileIsUnchanged() throws Exception {
+        // same modification time: the new content is not picked up
+        writeRing("""
+                active=2026-10
+                keys.2026-10.algorithm=ES256
+                keys.2026-10.private-key=2026-10.key.pem
+                keys.2026-10.public-key=2026-10.pub.pem
+                """, 1);
+        reloader.reloadIfChanged();
+
+        assertThat(keyRing.activeKey().keyId()).isEqualTo("2026-09");
+    }
+
+    // explicit modification times: file system timestamps can be too coarse to tell two writes apart
+    private void writeRing(String content, long version) throws Exception {
+        Files.writeString(ringFile, content);
+        Files.setLastModifiedTime(ringFile, FileTime.from(Instant.ofEpochSecond(1_700_000_000L + version)));
+    }
+
+    private void writeKeyPair(String keyId, KeyPair keyPair) throws Exception {
+        writePem(dir.resolve(keyId + ".key.pem"), "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        writePem(dir.resolve(keyId + ".pub.pem"), "PUBLIC KEY", keyPair.getPublic().getEncoded());
+    }
+
+    private static void writePem(Path path, String type, byte[] der) throws Exception {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+        Files.writeString(path, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+    }
+}
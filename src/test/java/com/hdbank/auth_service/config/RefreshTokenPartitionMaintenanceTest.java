@@ -0,0 +1,109 @@
+package com.hdbank.auth_service.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RefreshTokenPartitionMaintenanceTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    }
+
+    @Test
+    @Order(2)
+    void shouldCreateUpcomingAndDropExpiredPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        String lastMonth = RefreshTokenPartitionMaintenance.partitionName(current.minusMonths(1));
+        String thisMonth = RefreshTokenPartitionMaintenance.partitionName(current);
+        assertThat(partitions()).contains(lastMonth, thisMonth);
+
+        // six months later: everything up to five months back is past the 30 day retention
+        Clock later = Clock.fixed(current.plusMonths(6).atDay(15).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                ZoneOffset.UTC);
+        new RefreshTokenPartitionMaintenance(jdbcTemplate, 2, Duration.ofDays(30), later).maintainPartitions();
+
+        assertThat(partitions())
+                .doesNotContain(lastMonth, thisMonth)
+                .contains(
+                        RefreshTokenPartitionMaintenance.partitionName(current.plusMonths(6)),
+                        RefreshTokenPartitionMaintenance.partitionName(current.plusMonths(8)),
+                        "refresh_tokens_default");
+    }
+
+    @Test
+    @Order(3)
+    void shouldDropExpiredPartitionsWhenCreatingOneFails() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        // no partition covers that month yet: the row lands in refresh_tokens_default
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (user_id, token, issued_at, expires_at, created_by)
+                SELECT id, 'partition-overlap', NOW(), ?, 'TEST'
+                FROM app_users LIMIT 1
+                """, Timestamp.from(current.plusMonths(20).atDay(10).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        String expired = RefreshTokenPartitionMaintenance.partitionName(current.plusMonths(8));
+        assertThat(partitions()).contains(expired);
+
+        // creating the month of that row fails; the one created in test 2 is past retention and still goes
+        Clock later = Clock.fixed(current.plusMonths(20).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                ZoneOffset.UTC);
+        new RefreshTokenPartitionMaintenance(jdbcTemplate, 2, Duration.ofDays(30), later).maintainPartitions();
+
+        assertThat(partitions())
+                .doesNotContain(expired, RefreshTokenPartitionMaintenance.partitionName(current.plusMonths(20)));
+    }
+
+    @Test
+    @Order(1)
+    void shouldRouteInsertsToMonthlyPartition() {
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (user_id, token, issued_at, expires_at, created_by)
+                SELECT id, 'partition-routing', NOW(), NOW() + INTERVAL '7 days', 'TEST'
+                FROM app_users LIMIT 1
+                """);
+
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM refresh_tokens WHERE token = 'partition-routing'",
+                String.class);
+        assertThat(partition).startsWith("refresh_tokens_p");
+    }
+
+    private static List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'refresh_tokens'::regclass
+                """, String.class);
+    }
+}
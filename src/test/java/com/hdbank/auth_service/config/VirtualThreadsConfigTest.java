@@ -0,0 +1,58 @@
+package com.hdbank.auth_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VirtualThreadsConfig")
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadsConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:virtualthreads",
+                    "spring.datasource.hikari.maximum-pool-size=3");
+
+    @Test
+    @DisplayName("Should wrap the Hikari DataSource with one permit per pooled connection")
+    void testWrapsHikariDataSource() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+
+            assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+            ConnectionLimitingDataSource limited = (ConnectionLimitingDataSource) dataSource;
+            assertThat(limited.getMaxPermits()).isEqualTo(3);
+            assertThat(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()).isEqualTo(3);
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertThat(connection.isValid(1)).isTrue();
+                assertThat(limited.getAvailablePermits()).isEqualTo(2);
+            }
+            assertThat(limited.getAvailablePermits()).isEqualTo(3);
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+            assertThat(registry.get("auth.db.connection.permits.available").gauge().value()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    @DisplayName("Should leave the Hikari DataSource alone on platform threads")
+    void testPlatformThreadsKeepHikari() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean(DataSource.class)).isInstanceOf(HikariDataSource.class);
+            assertThat(context).doesNotHaveBean(VirtualThreadsConfig.class);
+        });
+    }
+}
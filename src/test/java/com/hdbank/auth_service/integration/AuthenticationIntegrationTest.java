@@ -8,19 +8,26 @@ import com.hdbank.auth_service.dto.request.RegisterRequest;
 import com.hdbank.auth_service.dto.response.ApiDataResponse;
 import com.hdbank.auth_service.dto.response.LoginResponse;
 import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
 import com.hdbank.auth_service.repository.AppRoleRepository;
+import com.hdbank.auth_service.repository.AppUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +45,12 @@ class AuthenticationIntegrationTest {
     @Autowired
     private AppRoleRepository roleRepository;
 
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         if (roleRepository.findByNameAndDeletedFalse("USER").isEmpty()) {
@@ -138,6 +151,38 @@ class AuthenticationIntegrationTest {
         assertThat(response.getData().getRefreshToken()).isNotEmpty();
     }
 
+    @Test
+    @DisplayName("Should rehash an outdated password hash on successful login")
+    void testLoginUpgradesOutdatedPasswordHash() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest(
+                "rehashuser",
+                "password123",
+                "Rehash User"
+        );
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)));
+
+        // legacy row: unprefixed BCrypt hash with a low cost
+        AppUser user = userRepository.findByUsernameAndDeletedFalse("rehashuser").orElseThrow();
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        user.setPasswordHash(legacyHash);
+        userRepository.save(user);
+
+        LoginRequest loginRequest = new LoginRequest("rehashuser", "password123");
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        String upgradedHash = userRepository.findByUsernameAndDeletedFalse("rehashuser")
+                .orElseThrow()
+                .getPasswordHash();
+        assertThat(upgradedHash).isNotEqualTo(legacyHash).startsWith("{bcrypt}$2a$12$");
+    }
+
     @Test
     @DisplayName("Should fail login with invalid credentials")
     void testLoginWithInvalidCredentials() throws Exception {
@@ -149,6 +194,35 @@ class AuthenticationIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Should throttle a login retried right after a failure")
+    void testLoginThrottledAfterFailure() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest(
+                "throttleduser",
+                "password123",
+                "Throttled User"
+        );
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("throttleduser", "wrongpassword"))))
+                .andExpect(status().isUnauthorized());
+
+        // rejected before authentication: no hash computed, even with the right password
+        long hashes = meterRegistry.get("auth.password.hashing.duration").timer().count();
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("throttleduser", "password123"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(429));
+        assertThat(meterRegistry.get("auth.password.hashing.duration").timer().count()).isEqualTo(hashes);
+    }
+
     @Test
     @DisplayName("Should successfully refresh access token")
     void testRefreshToken() throws Exception {
@@ -191,6 +265,12 @@ class AuthenticationIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Token refreshed successfully"))
                 .andExpect(jsonPath("$.data.access_token").exists())
                 .andExpect(jsonPath("$.data.refresh_token").exists());
+
+        // rotated: the old refresh token cannot be used again
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -251,5 +331,46 @@ class AuthenticationIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(logoutRequest)))
                 .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should revoke the access token on logout with a stale refresh token")
+    void testLogoutWithStaleRefreshTokenRevokesAccessToken() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new RegisterRequest("stalelogoutuser", "password123", "Stale Logout User"))));
+
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("stalelogoutuser", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        ApiDataResponse<LoginResponse> loginResponse = objectMapper.readValue(
+                loginResult.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructParametricType(ApiDataResponse.class, LoginResponse.class)
+        );
+        String accessToken = loginResponse.getData().getAccessToken();
+        RefreshTokenRequest staleRequest = new RefreshTokenRequest(loginResponse.getData().getRefreshToken());
+
+        // rotate: the refresh token from login is no longer live
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(staleRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(staleRequest)))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
     }
 }
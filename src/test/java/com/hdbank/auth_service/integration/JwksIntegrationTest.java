@@ -0,0 +1,57 @@
+package com.hdbank.auth_service.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.signing.algorithm=ES256")
+@AutoConfigureMockMvc
+@DisplayName("JWKS Integration Tests")
+class JwksIntegrationTest {
+
+    private static final String JWKS = "/.well-known/jwks.json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should publish the signing key with a SHA-256 ETag")
+    void testJwks() throws Exception {
+        mockMvc.perform(get(JWKS))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"[A-Za-z0-9_-]{43}\"")))
+                .andExpect(header().string("Cache-Control", containsString("public")))
+                .andExpect(jsonPath("$.keys[0].kty").value("EC"))
+                .andExpect(jsonPath("$.keys[0].alg").value("ES256"))
+                .andExpect(jsonPath("$.keys[0].kid").exists());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 to If-None-Match with the current ETag")
+    void testJwksNotModified() throws Exception {
+        String etag = mockMvc.perform(get(JWKS))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get(JWKS).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get(JWKS).header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+}
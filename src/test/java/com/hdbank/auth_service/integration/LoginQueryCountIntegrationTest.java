@@ -0,0 +1,79 @@
+package com.hdbank.auth_service.integration;
+
+import com.hdbank.auth_service.dto.request.LoginRequest;
+import com.hdbank.auth_service.dto.request.RegisterRequest;
+import com.hdbank.auth_service.dto.response.LoginResponse;
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.repository.AppRoleRepository;
+import com.hdbank.auth_service.service.AuthService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Login SQL statement count")
+class LoginQueryCountIntegrationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AppRoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        if (roleRepository.findByNameAndDeletedFalse("USER").isEmpty()) {
+            AppRole userRole = new AppRole();
+            userRole.setName("USER");
+            userRole.setDescription("Default user role");
+            userRole.setDeleted(false);
+            roleRepository.save(userRole);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should load the user with a single query per login")
+    void testLoginLoadsUserOnce() {
+        authService.register(new RegisterRequest("countuser", "password123", "Count User"));
+        statistics.clear();
+
+        LoginResponse response = authService.login(
+                new LoginRequest("countuser", "password123"), "127.0.0.1", "JUnit");
+
+        assertThat(response.getAccessToken()).isNotEmpty();
+        assertThat(response.getUserInfo().getRoles()).containsExactly("USER");
+        assertThat(statistics.getEntityStatistics(AppUser.class.getName()).getLoadCount()).isEqualTo(1);
+        // select user, select role names (first login only), soft-delete previous refresh tokens, insert refresh token
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should take roles from the cache on later logins")
+    void testLoginUsesCachedRoles() {
+        authService.register(new RegisterRequest("cacheduser", "password123", "Cached User"));
+        authService.login(new LoginRequest("cacheduser", "password123"), "127.0.0.1", "JUnit");
+        statistics.clear();
+
+        LoginResponse response = authService.login(
+                new LoginRequest("cacheduser", "password123"), "127.0.0.1", "JUnit");
+
+        assertThat(response.getUserInfo().getRoles()).containsExactly("USER");
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        // select user (no join), soft-delete previous refresh tokens, insert refresh token
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
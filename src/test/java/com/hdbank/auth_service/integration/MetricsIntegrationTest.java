@@ -0,0 +1,101 @@
+package com.hdbank.auth_service.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hdbank.auth_service.dto.request.LoginRequest;
+import com.hdbank.auth_service.dto.request.RegisterRequest;
+import com.hdbank.auth_service.dto.response.ApiDataResponse;
+import com.hdbank.auth_service.dto.response.LoginResponse;
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.repository.AppRoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The auth hot paths show up in the MeterRegistry after one register / login / me round trip.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppRoleRepository roleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        if (roleRepository.findByNameAndDeletedFalse("USER").isEmpty()) {
+            AppRole userRole = new AppRole();
+            userRole.setName("USER");
+            userRole.setDescription("Default user role");
+            userRole.setDeleted(false);
+            roleRepository.save(userRole);
+        }
+    }
+
+    @Test
+    @DisplayName("Should time hashing, signing, verification and repository queries")
+    void testAuthHotPathsAreMetered() throws Exception {
+        long encodes = timerCount("auth.password.encode");
+        long matches = timerCount("auth.password.matches", "outcome", "match");
+        long signs = timerCount("auth.jwt.sign");
+        long verifies = timerCount("auth.jwt.verify", "outcome", "valid");
+        double validTokens = meterRegistry.counter("auth.jwt.authentication", "outcome", "valid").count();
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new RegisterRequest("metricsuser", "password123", "Metrics User"))))
+                .andExpect(status().isOk());
+        MvcResult login = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("metricsuser", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        ApiDataResponse<LoginResponse> response = objectMapper.readValue(
+                login.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructParametricType(ApiDataResponse.class, LoginResponse.class)
+        );
+        mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + response.getData().getAccessToken()))
+                .andExpect(status().isOk());
+
+        assertThat(timerCount("auth.password.encode")).isGreaterThan(encodes);
+        assertThat(timerCount("auth.password.matches", "outcome", "match")).isGreaterThan(matches);
+        assertThat(timerCount("auth.jwt.sign")).isGreaterThan(signs);
+        assertThat(timerCount("auth.jwt.verify", "outcome", "valid")).isGreaterThan(verifies);
+        assertThat(meterRegistry.counter("auth.jwt.authentication", "outcome", "valid").count())
+                .isGreaterThan(validTokens);
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "AppUserRepository")
+                .timers())
+                .isNotEmpty();
+    }
+
+    private long timerCount(String name, String... tags) {
+        Timer timer = meterRegistry.find(name).tags(tags).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
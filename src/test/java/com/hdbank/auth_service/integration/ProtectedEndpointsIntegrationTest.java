@@ -20,9 +20,12 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -98,6 +101,31 @@ class ProtectedEndpointsIntegrationTest {
                 .andExpect(jsonPath("$.data.roles").isArray());
     }
 
+    @Test
+    @DisplayName("Should answer 304 to a conditional get of an unchanged profile")
+    void testGetCurrentUserNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username").value(username));
+    }
+
     @Test
     @DisplayName("Should fail to get current user without JWT")
     void testGetCurrentUserWithoutToken() throws Exception {
@@ -139,11 +167,29 @@ class ProtectedEndpointsIntegrationTest {
 
         LoginRequest loginRequest = new LoginRequest(username, "newpassword123");
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.success").value(true));
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn();
+        ApiDataResponse<LoginResponse> loginResponse = objectMapper.readValue(
+                loginResult.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructParametricType(
+                        ApiDataResponse.class,
+                        LoginResponse.class
+                )
+        );
+        String newAccessToken = loginResponse.getData().getAccessToken();
+        assertThat(newAccessToken).isNotBlank();
+
+        // tokens minted before the password change are rejected, new ones are accepted
+        mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/auth/me")
+                        .header("Authorization", "Bearer " + newAccessToken))
+                .andExpect(status().isOk());
     }
 
     @Test
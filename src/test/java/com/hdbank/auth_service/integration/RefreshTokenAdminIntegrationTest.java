@@ -0,0 +1,123 @@
+package com.hdbank.auth_service.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hdbank.auth_service.dto.request.RevokeRefreshTokensRequest;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.entity.RefreshToken;
+import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.repository.RefreshTokenRepository;
+import com.hdbank.auth_service.security.OpaqueTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Refresh token administration")
+class RefreshTokenAdminIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private AppUser first;
+    private AppUser second;
+    private AppUser untouched;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        first = user("revoke.first");
+        second = user("revoke.second");
+        untouched = user("revoke.untouched");
+        for (int i = 0; i < 3; i++) {
+            saveToken(first);
+        }
+        saveToken(second);
+        saveToken(untouched);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should revoke the live refresh tokens of every listed user")
+    void testRevokeForUsers() throws Exception {
+        RevokeRefreshTokensRequest request = new RevokeRefreshTokensRequest(
+                List.of(first.getId(), second.getId(), first.getId()));
+
+        mockMvc.perform(post("/api/v1/admin/refresh-tokens/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users").value(2))
+                .andExpect(jsonPath("$.data.revoked_tokens").value(4));
+
+        assertThat(liveTokens(first)).isEmpty();
+        assertThat(liveTokens(second)).isEmpty();
+        assertThat(liveTokens(untouched)).hasSize(1);
+        assertThat(refreshTokenRepository.findAll())
+                .filteredOn(token -> !token.getUser().getId().equals(untouched.getId()))
+                .allMatch(token -> token.isRevoked() && token.getRevokedAt() != null && token.isDeleted());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("Should forbid revocation for non-admin users")
+    void testRevokeRequiresAdmin() throws Exception {
+        RevokeRefreshTokensRequest request = new RevokeRefreshTokensRequest(List.of(first.getId()));
+
+        mockMvc.perform(post("/api/v1/admin/refresh-tokens/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        assertThat(liveTokens(first)).hasSize(3);
+    }
+
+    private AppUser user(String username) {
+        return userRepository.findByUsernameAndDeletedFalse(username)
+                .orElseGet(() -> userRepository.save(AppUser.builder()
+                        .username(username)
+                        .passwordHash("x")
+                        .enabled(true)
+                        .build()));
+    }
+
+    private List<RefreshToken> liveTokens(AppUser owner) {
+        return refreshTokenRepository.findAll().stream()
+                .filter(token -> !token.isDeleted() && token.getUser().getId().equals(owner.getId()))
+                .toList();
+    }
+
+    private void saveToken(AppUser user) {
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(OpaqueTokens.hash(OpaqueTokens.generate()))
+                .issuedAt(now)
+                .expiresAt(now.plus(7, ChronoUnit.DAYS))
+                .build());
+    }
+}
@@ -0,0 +1,120 @@
+package com.hdbank.auth_service.integration;
+
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.entity.RefreshToken;
+import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.repository.RefreshTokenRepository;
+import com.hdbank.auth_service.security.OpaqueTokens;
+import com.hdbank.auth_service.service.RefreshTokenPurgeService;
+import com.hdbank.auth_service.service.RefreshTokenPurgeService.PurgeResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("Refresh token purge")
+class RefreshTokenPurgeIntegrationTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        user = userRepository.findByUsernameAndDeletedFalse("purgeuser")
+                .orElseGet(() -> userRepository.save(AppUser.builder()
+                        .username("purgeuser")
+                        .passwordHash("x")
+                        .enabled(true)
+                        .build()));
+    }
+
+    @Test
+    @DisplayName("Should soft-delete expired tokens and hard-delete past retention in batches")
+    void testPurgeInBatches() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            saveToken(now.minus(1, ChronoUnit.HOURS), null);
+        }
+        saveToken(now.plus(1, ChronoUnit.HOURS), null);
+        for (int i = 0; i < 3; i++) {
+            saveToken(now.minus(60, ChronoUnit.DAYS), now.minus(40, ChronoUnit.DAYS));
+        }
+        saveToken(now.minus(10, ChronoUnit.DAYS), now.minus(5, ChronoUnit.DAYS));
+
+        PurgeResult result = purgeService(2, Duration.ofMinutes(1)).purge();
+
+        assertThat(result.softDeleted()).isEqualTo(5);
+        assertThat(result.hardDeleted()).isEqualTo(3);
+        assertThat(result.batches()).isEqualTo(5);
+        assertThat(result.completed()).isTrue();
+        assertThat(refreshTokenRepository.count()).isEqualTo(7);
+        assertThat(liveTokens(user)).hasSize(1);
+        assertThat(meterRegistry.get("auth.refresh_tokens.purge.soft_deleted").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("auth.refresh_tokens.purge.hard_deleted").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should stop when the time budget is spent")
+    void testPurgeStopsOnTimeBudget() {
+        saveToken(Instant.now().minus(1, ChronoUnit.HOURS), null);
+
+        PurgeResult result = purgeService(2, Duration.ofMillis(-1)).purge();
+
+        assertThat(result.completed()).isFalse();
+        assertThat(result.softDeleted()).isZero();
+        assertThat(liveTokens(user)).hasSize(1);
+    }
+
+    private RefreshTokenPurgeService purgeService(int batchSize, Duration timeBudget) {
+        return new RefreshTokenPurgeService(
+                refreshTokenRepository,
+                transactionManager,
+                meterRegistry,
+                batchSize,
+                Duration.ZERO,
+                timeBudget,
+                Duration.ofDays(30)
+        );
+    }
+
+    private List<RefreshToken> liveTokens(AppUser owner) {
+        return refreshTokenRepository.findAll().stream()
+                .filter(token -> !token.isDeleted() && token.getUser().getId().equals(owner.getId()))
+                .toList();
+    }
+
+    private void saveToken(Instant expiresAt, Instant deletedAt) {
+        RefreshToken token = RefreshToken.builder()
+                .user(user)
+                .tokenHash(OpaqueTokens.hash(UUID.randomUUID().toString()))
+                .issuedAt(expiresAt.minus(7, ChronoUnit.DAYS))
+                .expiresAt(expiresAt)
+                .build();
+        token.setDeleted(deletedAt != null);
+        token.setDeletedAt(deletedAt);
+        refreshTokenRepository.save(token);
+    }
+}
@@ -0,0 +1,215 @@
+package com.hdbank.auth_service.integration;
+
+import com.hdbank.auth_service.security.OpaqueTokens;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations on a real PostgreSQL, loads a refresh_tokens table shaped like production
+ * (mostly soft-deleted history, a few live tokens) and fails when a hot query plans a seq scan
+ * on a partition that holds rows.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("refresh_tokens query plans")
+class RefreshTokenQueryPlanIntegrationTest {
+
+    private static final int USERS = 1_000;
+    private static final int TOKENS = 200_000;
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (refresh_tokens\\w*)");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO app_users (username, password_hash, created_by)
+                    SELECT 'plan.user.' || i, 'x', 'TEST'
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(USERS));
+            // ~1% live, the rest rotated / logged out / expired history;
+            // inserted with raw tokens like a pre-V11 instance, the trigger fills token_hash
+            statement.execute("""
+                    INSERT INTO refresh_tokens (user_id, token, issued_at, expires_at, revoked, created_by, is_deleted)
+                    SELECT u.id,
+                           'token-' || i,
+                           NOW() - INTERVAL '1 day',
+                           NOW() + (CASE WHEN i %% 100 = 0 THEN 1 ELSE -1 END) * INTERVAL '6 days',
+                           i %% 3 = 0,
+                           'TEST',
+                           i %% 100 <> 0
+                    FROM generate_series(1, %d) AS i
+                    JOIN app_users u ON u.username = 'plan.user.' || (i %% %d + 1)
+                    """.formatted(TOKENS, USERS));
+            statement.execute("ANALYZE refresh_tokens");
+        }
+    }
+
+    @Test
+    @DisplayName("Live token lookup uses the partial live token index")
+    void liveTokenLookup() throws SQLException {
+        // RefreshTokenRepository.findLiveUserIdByTokenHash, as generated by Hibernate
+        assertUsesIndex("idx_refresh_tokens_live_token_hash", """
+                SELECT rt1_0.user_id FROM refresh_tokens rt1_0
+                WHERE rt1_0.token_hash = ? AND rt1_0.is_deleted = false AND rt1_0.revoked = false
+                    AND rt1_0.expires_at > ?
+                """, OpaqueTokens.hash("token-100"), Timestamp.from(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Rotation lookup uses the partial live token index")
+    void rotationLookup() throws SQLException {
+        // subquery of RefreshTokenRepository.rotate
+        assertUsesIndex("idx_refresh_tokens_live_token_hash", """
+                SELECT user_id FROM refresh_tokens
+                WHERE token_hash = ?
+                    AND is_deleted = false
+                    AND revoked = false
+                    AND expires_at > ?
+                """, OpaqueTokens.hash("token-100"), Timestamp.from(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Logout lookup uses an index")
+    void logoutLookup() throws SQLException {
+        // RefreshTokenRepository.findByTokenHashAndDeletedFalse: revoked tokens included, so not the live index
+        assertNoSeqScan("""
+                SELECT * FROM refresh_tokens
+                WHERE token_hash = ? AND is_deleted = false
+                """, OpaqueTokens.hash("token-100"));
+    }
+
+    @Test
+    @DisplayName("Rotation lookup skips the partitions of past months")
+    void rotationLookupPrunesPastMonths() throws SQLException {
+        String lastMonth = "refresh_tokens_p" + YearMonth.now(ZoneOffset.UTC).minusMonths(1)
+                .format(DateTimeFormatter.ofPattern("yyyy_MM"));
+
+        assertThat(explain("""
+                SELECT user_id FROM refresh_tokens
+                WHERE token_hash = ? AND is_deleted = false AND revoked = false AND expires_at > ?
+                """, OpaqueTokens.hash("token-100"), Timestamp.from(Instant.now())))
+                .noneMatch(line -> line.contains(lastMonth));
+    }
+
+    @Test
+    @DisplayName("Retiring the live tokens of a user uses an index")
+    void retireByUser() throws SQLException {
+        assertNoSeqScan("""
+                UPDATE refresh_tokens SET is_deleted = true, deleted_at = NOW(), deleted_by = 'SYSTEM'
+                WHERE user_id = (SELECT id FROM app_users WHERE username = ?) AND is_deleted = false
+                """, "plan.user.42");
+    }
+
+    @Test
+    @DisplayName("Purge batch of expired live tokens uses an index")
+    void expiredPurgeBatch() throws SQLException {
+        assertNoSeqScan("""
+                SELECT id FROM refresh_tokens
+                WHERE is_deleted = false AND expires_at < ? AND id > ?
+                ORDER BY id
+                LIMIT 1000
+                """, Timestamp.from(Instant.now()), 0L);
+    }
+
+    private static void assertNoSeqScan(String sql, Object... parameters) throws SQLException {
+        List<String> plan = explain(sql, parameters);
+        Set<String> emptyPartitions = new HashSet<>();
+        // months without tokens (and the default partition): scanning nothing is fine
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("""
+                     SELECT relname FROM pg_class
+                     WHERE relkind = 'r' AND relname LIKE 'refresh_tokens%' AND reltuples <= 0
+                     """)) {
+            while (resultSet.next()) {
+                emptyPartitions.add(resultSet.getString(1));
+            }
+        }
+        assertThat(plan)
+                .as("plan of%n%s%n%s", sql, String.join(System.lineSeparator(), plan))
+                .noneMatch(line -> {
+                    Matcher seqScan = SEQ_SCAN.matcher(line);
+                    return seqScan.find() && !emptyPartitions.contains(seqScan.group(1));
+                });
+    }
+
+    /**
+     * The plan reads through the index: on a partitioned table it names the partition's copy of the index,
+     * so the partition indexes attached to the parent index are matched too.
+     */
+    private static void assertUsesIndex(String indexName, String sql, Object... parameters) throws SQLException {
+        List<String> plan = explain(sql, parameters);
+        Set<String> indexNames = new HashSet<>(Set.of(indexName));
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("""
+                     SELECT child.relname FROM pg_inherits i
+                     JOIN pg_class child ON child.oid = i.inhrelid
+                     JOIN pg_class parent ON parent.oid = i.inhparent
+                     WHERE parent.relname = ?
+                     """)) {
+            statement.setString(1, indexName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    indexNames.add(resultSet.getString(1));
+                }
+            }
+        }
+        assertThat(plan)
+                .as("plan of%n%s%n%s", sql, String.join(System.lineSeparator(), plan))
+                .anyMatch(line -> indexNames.stream().anyMatch(name -> line.contains(" " + name + " ")));
+    }
+
+    private static List<String> explain(String sql, Object... parameters) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+            }
+        }
+        return plan;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
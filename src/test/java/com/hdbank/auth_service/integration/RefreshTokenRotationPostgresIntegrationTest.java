@@ -0,0 +1,150 @@
+package com.hdbank.auth_service.integration;
+
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
+import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.security.OpaqueTokens;
+import com.hdbank.auth_service.service.RefreshTokenService;
+import com.hdbank.auth_service.service.RefreshTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The single-statement (data-modifying CTE) login and rotation paths of RefreshTokenService, which only run
+ * on PostgreSQL: H2 tests always take the multi-statement fallback. Flyway schema, partitioned table.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@DisplayName("Refresh token rotation on PostgreSQL")
+class RefreshTokenRotationPostgresIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AppUser user;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        user = userRepository.findByUsernameAndDeletedFalse("rotationuser")
+                .orElseGet(() -> userRepository.save(AppUser.builder()
+                        .username("rotationuser")
+                        .passwordHash("x")
+                        .enabled(true)
+                        .build()));
+    }
+
+    @Test
+    @DisplayName("Should run the single statement paths on PostgreSQL")
+    void testSingleStatementPathSelected() {
+        // the field lives on the target bean, not on its transactional proxy
+        assertThat(ReflectionTestUtils.getField(AopTestUtils.getTargetObject(refreshTokenService),
+                "singleStatementRotation")).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Should retire the earlier live tokens on login")
+    void testIssueRetiresEarlierTokens() {
+        String first = refreshTokenService.issueRefreshToken(user, "10.0.0.1", "JUnit");
+        String second = refreshTokenService.issueRefreshToken(user, "10.0.0.2", "JUnit");
+
+        assertThat(row(first)).containsEntry("is_deleted", true).containsEntry("revoked", false);
+        assertThat(row(second)).containsEntry("is_deleted", false).containsEntry("revoked", false)
+                .containsEntry("ip_address", "10.0.0.2");
+        assertThat(liveTokens()).isEqualTo(1);
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(first, "10.0.0.1", "JUnit"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    @DisplayName("Should revoke the presented token and issue a live one for the same user")
+    void testRotate() {
+        String token = refreshTokenService.issueRefreshToken(user, "10.0.0.1", "JUnit");
+
+        RefreshTokenStore.Rotation rotation = refreshTokenService.rotateRefreshToken(token, "10.0.0.3", "JUnit");
+
+        assertThat(rotation.userId()).isEqualTo(user.getId());
+        assertThat(rotation.token()).isNotEqualTo(token);
+        assertThat(row(token)).containsEntry("is_deleted", true).containsEntry("revoked", true);
+        assertThat(row(token).get("revoked_at")).isNotNull();
+        assertThat(row(rotation.token())).containsEntry("is_deleted", false).containsEntry("revoked", false)
+                .containsEntry("user_id", user.getId()).containsEntry("ip_address", "10.0.0.3");
+        assertThat(liveTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a rotated token and keep its replacement usable")
+    void testReuseOfRotatedToken() {
+        String token = refreshTokenService.issueRefreshToken(user, "10.0.0.1", "JUnit");
+        RefreshTokenStore.Rotation rotation = refreshTokenService.rotateRefreshToken(token, "10.0.0.1", "JUnit");
+
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(token, "10.0.0.1", "JUnit"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(liveTokens()).isEqualTo(1);
+
+        RefreshTokenStore.Rotation next = refreshTokenService.rotateRefreshToken(rotation.token(), "10.0.0.1", "JUnit");
+        assertThat(next.userId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void testRotateExpired() {
+        String token = refreshTokenService.issueRefreshToken(user, "10.0.0.1", "JUnit");
+        jdbcTemplate.update("UPDATE refresh_tokens SET expires_at = NOW() - INTERVAL '1 minute' WHERE token_hash = ?",
+                (Object) OpaqueTokens.hash(token));
+
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(token, "10.0.0.1", "JUnit"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(row(token)).containsEntry("is_deleted", false).containsEntry("revoked", false);
+    }
+
+    private Map<String, Object> row(String token) {
+        return jdbcTemplate.queryForMap("""
+                SELECT user_id, revoked, revoked_at, is_deleted, ip_address FROM refresh_tokens
+                WHERE token_hash = ?
+                """, (Object) OpaqueTokens.hash(token));
+    }
+
+    private long liveTokens() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND is_deleted = false",
+                Long.class, user.getId());
+    }
+}
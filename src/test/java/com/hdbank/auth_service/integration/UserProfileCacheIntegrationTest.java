@@ -0,0 +1,98 @@
+package com.hdbank.auth_service.integration;
+
+import com.hdbank.auth_service.config.CacheConfig;
+import com.hdbank.auth_service.dto.UserInfo;
+import com.hdbank.auth_service.dto.request.ChangePasswordRequest;
+import com.hdbank.auth_service.dto.request.RegisterRequest;
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.repository.AppRoleRepository;
+import com.hdbank.auth_service.service.AuthService;
+import com.hdbank.auth_service.service.UserService;
+import com.hdbank.auth_service.service.UserService.UserProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("User profile cache")
+class UserProfileCacheIntegrationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AppRoleRepository roleRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        if (roleRepository.findByNameAndDeletedFalse("USER").isEmpty()) {
+            AppRole userRole = new AppRole();
+            userRole.setName("USER");
+            userRole.setDescription("Default user role");
+            userRole.setDeleted(false);
+            roleRepository.save(userRole);
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the second profile read from the cache and count the hit")
+    void testProfileReadThrough() {
+        UserInfo user = authService.register(new RegisterRequest("profilecacheuser", "password123", "Profile Cache"));
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        UserProfile first = userService.getUserProfile(user.getId());
+        UserProfile second = userService.getUserProfile(user.getId());
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.userInfo().getUsername()).isEqualTo("profilecacheuser");
+        assertThat(first.etag()).isNotBlank();
+        assertThat(cacheGets("miss")).isEqualTo(misses + 1);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached profile once the password change commits")
+    void testChangePasswordEvictsProfileAfterCommit() {
+        UserInfo user = authService.register(new RegisterRequest("profileevictuser", "password123", "Profile Evict"));
+        UserProfile cached = userService.getUserProfile(user.getId());
+        Cache userInfoCache = cacheManager.getCache(CacheConfig.USER_INFO);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.changePassword("profileevictuser", new ChangePasswordRequest("password123", "newpassword123"));
+            // still cached until the new password hash is committed
+            assertThat(userInfoCache.get(user.getId())).isNotNull();
+        });
+
+        assertThat(userInfoCache.get(user.getId())).isNull();
+        assertThat(userService.getUserProfile(user.getId())).isNotSameAs(cached);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", CacheConfig.USER_INFO, "result", result)
+                .functionCounter()
+                .count();
+    }
+}
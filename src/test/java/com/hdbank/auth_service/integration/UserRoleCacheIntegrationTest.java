@@ -0,0 +1,137 @@
+package com.hdbank.auth_service.integration;
+
+import com.hdbank.auth_service.config.CacheConfig;
+import com.hdbank.auth_service.dto.UserInfo;
+import com.hdbank.auth_service.dto.request.RegisterRequest;
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.repository.AppRoleRepository;
+import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.service.AuthService;
+import com.hdbank.auth_service.service.UserRoleService;
+import com.hdbank.auth_service.service.UserRolesChangedEvent;
+import com.hdbank.auth_service.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("User role cache")
+class UserRoleCacheIntegrationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AppRoleRepository roleRepository;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        createRole("USER");
+        createRole("ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should cache the roles of a registered user")
+    void testRolesReadThrough() {
+        UserInfo user = authService.register(new RegisterRequest("cachedrolesuser", "password123", "Cached Roles"));
+
+        assertThat(userRoleService.getRoleNames(user.getId())).containsExactly("USER");
+        assertThat(cacheManager.getCache(CacheConfig.USER_ROLES).get(user.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the cached roles and profile once the role change commits")
+    void testRolesChangedEvictsAfterCommit() {
+        UserInfo user = authService.register(new RegisterRequest("rolechangeuser", "password123", "Role Change"));
+        assertThat(userRoleService.getRoleNames(user.getId())).containsExactly("USER");
+        assertThat(userService.getUserProfile(user.getId()).userInfo().getRoles()).containsExactly("USER");
+        Cache userRolesCache = cacheManager.getCache(CacheConfig.USER_ROLES);
+        Cache userInfoCache = cacheManager.getCache(CacheConfig.USER_INFO);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            AppUser appUser = userRepository.findByIdAndDeletedFalse(user.getId()).orElseThrow();
+            appUser.getRoles().add(roleRepository.findByNameAndDeletedFalse("ADMIN").orElseThrow());
+            eventPublisher.publishEvent(new UserRolesChangedEvent(user.getId()));
+            // still cached until the new roles are committed
+            assertThat(userRolesCache.get(user.getId())).isNotNull();
+            assertThat(userInfoCache.get(user.getId())).isNotNull();
+        });
+
+        assertThat(userRolesCache.get(user.getId())).isNull();
+        assertThat(userInfoCache.get(user.getId())).isNull();
+        assertThat(userRoleService.getRoleNames(user.getId())).isEqualTo(Set.of("USER", "ADMIN"));
+        assertThat(userService.getUserProfile(user.getId()).userInfo().getRoles())
+                .containsExactlyInAnyOrder("USER", "ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should keep the cached roles of other users")
+    void testRolesChangedEvictsOnlyThatUser() {
+        UserInfo changed = authService.register(new RegisterRequest("rolechangedone", "password123", "Changed"));
+        UserInfo other = authService.register(new RegisterRequest("roleotheruser", "password123", "Other"));
+        userRoleService.getRoleNames(changed.getId());
+        userRoleService.getRoleNames(other.getId());
+
+        eventPublisher.publishEvent(new UserRolesChangedEvent(changed.getId()));
+
+        assertThat(cacheManager.getCache(CacheConfig.USER_ROLES).get(changed.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.USER_ROLES).get(other.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not grant a soft-deleted role")
+    void testSoftDeletedRoleNotGranted() {
+        AppRole retired = new AppRole();
+        retired.setName("RETIRED");
+        retired.setDescription("RETIRED role");
+        retired.setDeleted(true);
+        AppRole savedRetired = roleRepository.save(retired);
+        UserInfo user = authService.register(new RegisterRequest("retiredroleuser", "password123", "Retired Role"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.findByIdAndDeletedFalse(user.getId()).orElseThrow().getRoles().add(savedRetired);
+            eventPublisher.publishEvent(new UserRolesChangedEvent(user.getId()));
+        });
+
+        assertThat(userRoleService.getRoleNames(user.getId())).containsExactly("USER");
+    }
+
+    private void createRole(String name) {
+        if (roleRepository.findByNameAndDeletedFalse(name).isEmpty()) {
+            AppRole role = new AppRole();
+            role.setName(name);
+            role.setDescription(name + " role");
+            role.setDeleted(false);
+            roleRepository.save(role);
+        }
+    }
+}
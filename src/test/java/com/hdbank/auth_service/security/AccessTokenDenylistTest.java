@@ -0,0 +1,133 @@
+package com.hdbank.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenDenylistTest {
+
+    private static final Duration LIFETIME = Duration.ofHours(1);
+
+    private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    // revocations made by other instances (revoked_access_tokens)
+    private final List<Revocation> shared = new ArrayList<>();
+
+    private final AccessTokenDenylist denylist = new AccessTokenDenylist(
+            since -> shared.stream()
+                    .filter(revocation -> revocation.revokedAt().isAfter(since))
+                    .map(Revocation::event)
+                    .toList(),
+            LIFETIME, 1000, 0.01, REFRESH_INTERVAL, clock);
+
+    @Test
+    void shouldDenyRevokedTokenUntilItExpires() {
+        denylist.revoke("jti-1", clock.instant().plus(Duration.ofMinutes(30)));
+
+        assertThat(denylist.isRevoked("jti-1")).isTrue();
+        assertThat(denylist.isRevoked("jti-2")).isFalse();
+        assertThat(denylist.isRevoked(null)).isFalse();
+
+        clock.advance(Duration.ofMinutes(31));
+
+        assertThat(denylist.isRevoked("jti-1")).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreAlreadyExpiredTokens() {
+        denylist.revoke("jti-1", clock.instant().minusSeconds(1));
+
+        assertThat(denylist.isRevoked("jti-1")).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    void shouldKeepDenyingAcrossFilterRotation() {
+        denylist.revoke("jti-1", clock.instant().plus(LIFETIME));
+
+        // next revocation rotates the filter generations: jti-1 moves to the previous one
+        clock.advance(LIFETIME.minusMinutes(1));
+        denylist.revoke("jti-2", clock.instant().plus(LIFETIME));
+        clock.advance(Duration.ofMinutes(2));
+        denylist.revoke("jti-3", clock.instant().plus(LIFETIME));
+
+        assertThat(denylist.isRevoked("jti-1")).isTrue();
+        assertThat(denylist.isRevoked("jti-2")).isTrue();
+        assertThat(denylist.isRevoked("jti-3")).isTrue();
+    }
+
+    @Test
+    void shouldPickUpRevocationsMadeByOtherInstances() {
+        shared.add(new Revocation(new AccessTokenRevokedEvent("jti-1", clock.instant().plus(LIFETIME)), clock.instant()));
+        assertThat(denylist.isRevoked("jti-1")).isFalse();
+
+        denylist.refresh();
+        assertThat(denylist.isRevoked("jti-1")).isTrue();
+
+        // committed late, inside the overlap with the previous poll
+        shared.add(new Revocation(
+                new AccessTokenRevokedEvent("jti-2", clock.instant().plus(LIFETIME)), clock.instant().minusSeconds(1)));
+        clock.advance(REFRESH_INTERVAL);
+        denylist.refresh();
+        assertThat(denylist.isRevoked("jti-2")).isTrue();
+    }
+
+    @Test
+    void shouldRejectUnknownTokensThroughBloomFilter() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("revoked-" + (i % 1000))).isTrue();
+            if (filter.mightContain("live-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private record Revocation(AccessTokenRevokedEvent event, Instant revokedAt) {
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
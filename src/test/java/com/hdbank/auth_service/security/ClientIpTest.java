@@ -0,0 +1,21 @@
+package com.hdbank.auth_service.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClientIp")
+class ClientIpTest {
+
+    @Test
+    @DisplayName("Should use the remote address and ignore a forged X-Forwarded-For")
+    void testIgnoresForwardedHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("198.51.100.4");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+
+        assertThat(ClientIp.of(request)).isEqualTo("198.51.100.4");
+    }
+}
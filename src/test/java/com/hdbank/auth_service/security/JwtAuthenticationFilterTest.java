@@ -0,0 +1,179 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.repository.AppUserRepository;
+import com.hdbank.auth_service.repository.RevokedAccessTokenRepository;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtService jwtService;
+
+    private AccessTokenDenylist accessTokenDenylist;
+
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AppUser testUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = spy(new JwtService(
+                JwtKeyRing.of(JwtSigningKey.hmac(null, "test-secret-key-for-unit-tests-minimum-256-bits-long-string")),
+                3600000L,
+                meterRegistry
+        ));
+        accessTokenDenylist = new AccessTokenDenylist(mock(RevokedAccessTokenRepository.class), 3600000L, 1000, 0.01,
+                Duration.ofSeconds(5));
+        tokenVersionRegistry = new TokenVersionRegistry(mock(AppUserRepository.class), 3600000L, Duration.ofSeconds(5));
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtService, new VerifiedTokenCache(false, 0, meterRegistry), accessTokenDenylist, tokenVersionRegistry, meterRegistry);
+
+        testUser = AppUser.builder()
+                .id(1L)
+                .username("testuser")
+                .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+                .build();
+
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldVerifyBearerTokenExactlyOncePerRequest() throws Exception {
+        String token = jwtService.generateAccessToken(testUser);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtService, times(1)).verifyToken(token);
+        verify(jwtService, never()).extractUserId(anyString());
+        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).extractRoles(anyString());
+        verify(jwtService, never()).isTokenValid(anyString());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getUsername()).isEqualTo("testuser");
+        assertThat(principal.getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void shouldNotAuthenticateWithInvalidToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer invalid.jwt.token");
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(jwtService, times(1)).verifyToken("invalid.jwt.token");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(filterChain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldNotAuthenticateWithRevokedToken() throws Exception {
+        String token = jwtService.generateAccessToken(testUser);
+        JwtClaims claims = jwtService.verifyToken(token);
+        accessTokenDenylist.revoke(claims.tokenId(), claims.expiresAt());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(filterChain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldNotAuthenticateWithTokenMintedBeforeVersionChange() throws Exception {
+        String token = jwtService.generateAccessToken(testUser);
+        tokenVersionRegistry.onTokenVersionChanged(new TokenVersionChange(1L, 1, Instant.now()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void shouldSkipVerificationWithoutBearerHeader() throws Exception {
+        jwtAuthenticationFilter.doFilter(
+                new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtService, never()).verifyToken(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void shouldCountEachOutcome() throws Exception {
+        JwtService expiringJwtService = new JwtService(
+                JwtKeyRing.of(JwtSigningKey.hmac(null, "test-secret-key-for-unit-tests-minimum-256-bits-long-string")),
+                -1000L,
+                new SimpleMeterRegistry()
+        );
+        String expired = expiringJwtService.generateAccessToken(testUser);
+        String valid = jwtService.generateAccessToken(testUser);
+
+        for (String token : new String[]{valid, expired, "not-a-jwt", valid.substring(0, valid.length() - 4) + "AAAA"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Authorization", "Bearer " + token);
+            jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(outcomeCount("valid")).isEqualTo(1);
+        assertThat(outcomeCount("expired")).isEqualTo(1);
+        assertThat(outcomeCount("malformed")).isEqualTo(1);
+        assertThat(outcomeCount("invalid_signature")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRegisterEveryOutcomeUpFront() {
+        for (String outcome : List.of("valid", "revoked", "stale_version", "expired", "malformed",
+                "invalid_signature", "invalid")) {
+            assertThat(meterRegistry.find("auth.jwt.authentication").tag("outcome", outcome).counter()).isNotNull();
+        }
+        for (String outcome : List.of("valid", "expired", "malformed", "invalid_signature", "invalid")) {
+            assertThat(meterRegistry.find("auth.jwt.verify").tag("outcome", outcome).timer()).isNotNull();
+        }
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.counter("auth.jwt.authentication", "outcome", outcome).count();
+    }
+}
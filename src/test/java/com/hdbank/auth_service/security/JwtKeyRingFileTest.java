@@ -0,0 +1,109 @@
+package com.hdbank.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingFileTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void shouldLoadRetiredKeyAsVerifyOnly() throws Exception {
+        KeyPair active = JwtSigningAlgorithm.ES256.generateKeyPair();
+        KeyPair retired = JwtSigningAlgorithm.ES256.generateKeyPair();
+        Files.createDirectories(dir.resolve("keys"));
+        writePem(dir.resolve("keys/active.key.pem"), "PRIVATE KEY", active.getPrivate().getEncoded());
+        writePem(dir.resolve("keys/active.pub.pem"), "PUBLIC KEY", active.getPublic().getEncoded());
+        writePem(dir.resolve("keys/retired.pub.pem"), "PUBLIC KEY", retired.getPublic().getEncoded());
+
+        JwtKeyRingFile.Contents contents = JwtKeyRingFile.load(writeRing("""
+                active = new
+                keys.new.algorithm=ES256
+                keys.new.private-key=keys/active.key.pem
+                keys.new.public-key=keys/active.pub.pem
+                keys.old.algorithm=ES256
+                keys.old.public-key=keys/retired.pub.pem
+                """));
+
+        assertThat(contents.activeKeyId()).isEqualTo("new");
+        assertThat(contents.keys()).extracting(JwtSigningKey::keyId).containsExactly("new", "old");
+        JwtSigningKey old = contents.keys().get(1);
+        assertThat(old.canSign()).isFalse();
+        assertThat(old.verificationKey()).isEqualTo(retired.getPublic());
+        assertThat(old.publicJwk().getId()).isEqualTo("old");
+    }
+
+    @Test
+    void shouldDefaultToHmacWithInlineSecret() throws Exception {
+        JwtKeyRingFile.Contents contents = JwtKeyRingFile.load(writeRing("""
+                active=legacy
+                keys.legacy.secret=legacy-secret-key-for-unit-tests-minimum-256-bits
+                """));
+
+        JwtSigningKey legacy = contents.keys().get(0);
+        assertThat(legacy.algorithm()).isEqualTo(JwtSigningAlgorithm.HS256);
+        assertThat(legacy.canSign()).isTrue();
+        assertThat(legacy.publicJwk()).isNull();
+    }
+
+    @Test
+    void shouldRejectRingWithoutActiveKey() throws Exception {
+        Path ring = writeRing("""
+                keys.legacy.secret=legacy-secret-key-for-unit-tests-minimum-256-bits
+                """);
+
+        assertThatThrownBy(() -> JwtKeyRingFile.load(ring))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no active key");
+    }
+
+    @Test
+    void shouldRejectHmacKeyWithoutSecret() throws Exception {
+        Path ring = writeRing("""
+                active=legacy
+                keys.legacy.algorithm=HS256
+                """);
+
+        assertThatThrownBy(() -> JwtKeyRingFile.load(ring))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("legacy has no secret");
+    }
+
+    @Test
+    void shouldRejectAsymmetricKeyWithoutPublicKey() throws Exception {
+        Path ring = writeRing("""
+                active=2026-10
+                keys.2026-10.algorithm=RS256
+                keys.2026-10.private-key=active.key.pem
+                """);
+
+        assertThatThrownBy(() -> JwtKeyRingFile.load(ring))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2026-10 has no public-key");
+    }
+
+    @Test
+    void shouldRejectMissingRingFile() {
+        assertThatThrownBy(() -> JwtKeyRingFile.load(dir.resolve("missing.properties")))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private Path writeRing(String content) throws Exception {
+        return Files.writeString(dir.resolve("keyring.properties"), content);
+    }
+
+    private static void writePem(Path path, String type, byte[] der) throws Exception {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+        Files.writeString(path, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+    }
+}
@@ -0,0 +1,103 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private final AppUser testUser = AppUser.builder()
+            .id(1L)
+            .username("testuser")
+            .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+            .build();
+
+    @Test
+    void shouldKeepVerifyingOldTokensAfterRotation() {
+        JwtSigningKey oldKey = JwtSigningKey.hmac("old", "old-secret-key-for-unit-tests-minimum-256-bits-long");
+        JwtSigningKey newKey = JwtSigningKey.hmac("new", "new-secret-key-for-unit-tests-minimum-256-bits-long");
+        JwtKeyRing keyRing = JwtKeyRing.of(oldKey);
+        JwtService jwtService = new JwtService(keyRing, 3600000L, new SimpleMeterRegistry());
+        String oldToken = jwtService.generateAccessToken(testUser);
+
+        keyRing.replace("new", List.of(newKey, oldKey));
+        String newToken = jwtService.generateAccessToken(testUser);
+
+        assertThat(jwtService.isTokenValid(oldToken)).isTrue();
+        assertThat(jwtService.isTokenValid(newToken)).isTrue();
+        assertThat(keyRing.activeKey()).isEqualTo(newKey);
+    }
+
+    @Test
+    void shouldRejectTokensOfRetiredKey() {
+        JwtSigningKey oldKey = JwtSigningKey.hmac("old", "old-secret-key-for-unit-tests-minimum-256-bits-long");
+        JwtSigningKey newKey = JwtSigningKey.hmac("new", "new-secret-key-for-unit-tests-minimum-256-bits-long");
+        JwtKeyRing keyRing = JwtKeyRing.of(oldKey);
+        JwtService jwtService = new JwtService(keyRing, 3600000L, new SimpleMeterRegistry());
+        String oldToken = jwtService.generateAccessToken(testUser);
+
+        keyRing.replace("new", List.of(newKey));
+
+        assertThat(jwtService.isTokenValid(oldToken)).isFalse();
+        assertThat(keyRing.find("old")).isNull();
+    }
+
+    @Test
+    void shouldRejectVerifyOnlyKeyAsActive() {
+        JwtSigningAlgorithm algorithm = JwtSigningAlgorithm.ES256;
+        JwtSigningKey verifyOnly = JwtSigningKey.verifyOnly(
+                algorithm, "retired", algorithm.generateKeyPair().getPublic());
+
+        assertThatThrownBy(() -> new JwtKeyRing("retired", List.of(verifyOnly)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldLoadKeyRingFile(@TempDir Path dir) throws Exception {
+        KeyPair active = JwtSigningAlgorithm.ES256.generateKeyPair();
+        KeyPair retired = JwtSigningAlgorithm.RS256.generateKeyPair();
+        writePem(dir.resolve("active.key.pem"), "PRIVATE KEY", active.getPrivate().getEncoded());
+        writePem(dir.resolve("active.pub.pem"), "PUBLIC KEY", active.getPublic().getEncoded());
+        writePem(dir.resolve("retired.pub.pem"), "PUBLIC KEY", retired.getPublic().getEncoded());
+        Path ringFile = dir.resolve("keyring.properties");
+        Files.writeString(ringFile, """
+                active=2026-10
+                keys.2026-10.algorithm=ES256
+                keys.2026-10.private-key=active.key.pem
+                keys.2026-10.public-key=active.pub.pem
+                keys.2026-09.algorithm=RS256
+                keys.2026-09.public-key=retired.pub.pem
+                keys.legacy.algorithm=HS256
+                keys.legacy.secret=legacy-secret-key-for-unit-tests-minimum-256-bits
+                """);
+
+        JwtKeyRingFile.Contents contents = JwtKeyRingFile.load(ringFile);
+        JwtKeyRing keyRing = new JwtKeyRing(contents.activeKeyId(), contents.keys());
+        JwtService jwtService = new JwtService(keyRing, 3600000L, new SimpleMeterRegistry());
+
+        assertThat(keyRing.activeKey().algorithm()).isEqualTo(JwtSigningAlgorithm.ES256);
+        assertThat(keyRing.find("2026-09").canSign()).isFalse();
+        assertThat(keyRing.find("legacy").canSign()).isTrue();
+        assertThat(jwtService.getPublicJwks()).extracting(jwk -> jwk.getId())
+                .containsExactlyInAnyOrder("2026-10", "2026-09");
+        assertThat(jwtService.isTokenValid(jwtService.generateAccessToken(testUser))).isTrue();
+    }
+
+    private static void writePem(Path path, String type, byte[] der) throws Exception {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+        Files.writeString(path, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+    }
+}
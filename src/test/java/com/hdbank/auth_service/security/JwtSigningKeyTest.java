@@ -0,0 +1,87 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.service.JwtService;
+import io.jsonwebtoken.security.PublicJwk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtSigningKeyTest {
+
+    private static final String SECRET = "test-secret-key-for-unit-tests-minimum-256-bits-long-string";
+
+    private final AppUser testUser = AppUser.builder()
+            .id(1L)
+            .username("testuser")
+            .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+            .build();
+
+    @ParameterizedTest
+    @EnumSource(value = JwtSigningAlgorithm.class, names = {"RS256", "ES256", "EDDSA"})
+    void shouldSignAndVerifyWithAsymmetricKey(JwtSigningAlgorithm algorithm) {
+        JwtSigningKey signingKey = JwtSigningKey.asymmetric(algorithm, "key-1", algorithm.generateKeyPair());
+        JwtService jwtService = new JwtService(JwtKeyRing.of(signingKey), 3600000L, new SimpleMeterRegistry());
+
+        String token = jwtService.generateAccessToken(testUser);
+        JwtClaims claims = jwtService.verifyToken(token);
+
+        assertThat(header(token))
+                .contains("\"kid\":\"key-1\"")
+                .contains("\"alg\":\"" + algorithm.jwaName() + "\"");
+        assertThat(claims.userId()).isEqualTo(1L);
+        assertThat(claims.username()).isEqualTo("testuser");
+        assertThat(claims.roles()).containsExactly("ROLE_USER");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = JwtSigningAlgorithm.class, names = {"RS256", "ES256", "EDDSA"})
+    void shouldPublishOnlyPublicKeyMaterial(JwtSigningAlgorithm algorithm) {
+        JwtSigningKey signingKey = JwtSigningKey.asymmetric(algorithm, null, algorithm.generateKeyPair());
+        JwtService jwtService = new JwtService(JwtKeyRing.of(signingKey), 3600000L, new SimpleMeterRegistry());
+
+        assertThat(jwtService.getPublicJwks()).hasSize(1);
+        PublicJwk<?> jwk = jwtService.getPublicJwks().get(0);
+        assertThat(jwk.getId()).isEqualTo(signingKey.keyId()).isNotBlank();
+        Map<String, Object> members = new HashMap<>(jwk);
+        assertThat(members).containsEntry("use", "sig")
+                .containsEntry("alg", algorithm.jwaName())
+                .doesNotContainKey("d");
+    }
+
+    @Test
+    void shouldNotPublishHmacKey() {
+        JwtService jwtService = new JwtService(
+                JwtKeyRing.of(JwtSigningKey.hmac(null, SECRET)), 3600000L, new SimpleMeterRegistry());
+
+        assertThat(jwtService.getPublicJwks()).isEmpty();
+        assertThat(jwtService.isTokenValid(jwtService.generateAccessToken(testUser))).isTrue();
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        JwtSigningAlgorithm algorithm = JwtSigningAlgorithm.RS256;
+        JwtService issuer = new JwtService(JwtKeyRing.of(
+                JwtSigningKey.asymmetric(algorithm, "key-1", algorithm.generateKeyPair())),
+                3600000L, new SimpleMeterRegistry());
+        JwtService verifier = new JwtService(JwtKeyRing.of(
+                JwtSigningKey.asymmetric(algorithm, "key-1", algorithm.generateKeyPair())),
+                3600000L, new SimpleMeterRegistry());
+
+        assertThat(verifier.isTokenValid(issuer.generateAccessToken(testUser))).isFalse();
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,177 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoginThrottle")
+class LoginThrottleTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+    private static final Duration LOCKOUT = Duration.ofMinutes(10);
+    private static final String IP = "10.0.0.1";
+
+    private MutableClock clock;
+    private InMemoryLoginAttemptStore store;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        // aligned on a window boundary so the sliding estimate is easy to follow
+        clock = new MutableClock(Instant.ofEpochMilli(WINDOW.toMillis() * 1_000_000));
+        store = new InMemoryLoginAttemptStore(1000, Duration.ofHours(1));
+        throttle = new LoginThrottle(store, true,
+                new LoginAttempts.Policy(WINDOW, 3, LOCKOUT, Duration.ofSeconds(1), Duration.ofSeconds(8)),
+                new LoginAttempts.Policy(WINDOW, 10, LOCKOUT, Duration.ZERO, Duration.ofSeconds(8)),
+                clock, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should back off exponentially between consecutive failures")
+    void testExponentialBackoff() {
+        throttle.recordFailure("alice", IP);
+        assertRetryAfter("alice", Duration.ofSeconds(1));
+
+        clock.advance(Duration.ofSeconds(1));
+        throttle.checkAllowed("alice", IP);
+        throttle.recordFailure("alice", IP);
+        assertRetryAfter("alice", Duration.ofSeconds(2));
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThatCode(() -> throttle.checkAllowed("Alice", IP)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should lock the username once max failures are reached, until the lockout ends")
+    void testLockout() {
+        for (int i = 0; i < 3; i++) {
+            clock.advance(Duration.ofMinutes(1));
+            throttle.recordFailure("bob", IP);
+        }
+        assertRetryAfter("bob", LOCKOUT);
+
+        clock.advance(LOCKOUT.minusSeconds(1));
+        assertRetryAfter("bob", Duration.ofSeconds(1));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThatCode(() -> throttle.checkAllowed("bob", IP)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should weight the previous window by how much of it still overlaps")
+    void testSlidingWindow() {
+        throttle.recordFailure("carol", IP);
+        throttle.recordFailure("carol", IP);
+
+        // two thirds into the next window: 1 + 2 * 1/3 < 3, not locked
+        clock.advance(WINDOW.plus(WINDOW.multipliedBy(2).dividedBy(3)));
+        throttle.recordFailure("carol", IP);
+        clock.advance(Duration.ofSeconds(4));
+        assertThatCode(() -> throttle.checkAllowed("carol", IP)).doesNotThrowAnyException();
+
+        // right after a window boundary the previous failures still count in full: 0 + 1 + 2 >= 3
+        clock.advance(WINDOW);
+        long intoWindow = Math.floorMod(clock.millis(), WINDOW.toMillis());
+        clock.advance(WINDOW.minusMillis(intoWindow + 10));
+        throttle.recordFailure("dave", IP);
+        throttle.recordFailure("dave", IP);
+        clock.advance(Duration.ofMillis(10));
+        throttle.recordFailure("dave", IP);
+        assertRetryAfter("dave", LOCKOUT);
+    }
+
+    @Test
+    @DisplayName("Should clear the username on success but keep counting the ip")
+    void testSuccessResetsUsernameOnly() {
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("user" + i, IP);
+        }
+        throttle.recordSuccess("user0");
+
+        assertThat(store.get("u:user0")).isEqualTo(LoginAttempts.NONE);
+        clock.advance(Duration.ofSeconds(1));
+        assertThatThrownBy(() -> throttle.checkAllowed("someone-else", IP))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.checkAllowed("someone-else", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should count every concurrent failure")
+    void testConcurrentFailures() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 1000)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> store.recordFailure("ip:shared", clock.millis(), ipPolicy()), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(store.get("ip:shared").current()).isEqualTo(1000);
+        assertThat(store.get("ip:shared").consecutive()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should let everything through when disabled")
+    void testDisabled() {
+        LoginThrottle disabled = new LoginThrottle(store, false, ipPolicy(), ipPolicy(), clock, new SimpleMeterRegistry());
+        for (int i = 0; i < 20; i++) {
+            disabled.recordFailure("erin", IP);
+        }
+        assertThatCode(() -> disabled.checkAllowed("erin", IP)).doesNotThrowAnyException();
+    }
+
+    private LoginAttempts.Policy ipPolicy() {
+        return new LoginAttempts.Policy(WINDOW, 10, LOCKOUT, Duration.ZERO, Duration.ofSeconds(8));
+    }
+
+    private void assertRetryAfter(String username, Duration expected) {
+        assertThatThrownBy(() -> throttle.checkAllowed(username, IP))
+                .isInstanceOfSatisfying(LoginThrottledException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(expected));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hdbank.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpaqueTokensTest {
+
+    @Test
+    void shouldGenerateUrlSafe256BitTokens() {
+        String token = OpaqueTokens.generate();
+
+        assertThat(token).hasSize(43).matches("[A-Za-z0-9_-]+");
+        assertThat(Base64.getUrlDecoder().decode(token)).hasSize(OpaqueTokens.TOKEN_BYTES);
+        assertThat(OpaqueTokens.generate()).isNotEqualTo(token);
+    }
+
+    @Test
+    void shouldHashToFixedWidthDigest() {
+        assertThat(OpaqueTokens.hash("token-100")).hasSize(32).isEqualTo(OpaqueTokens.hash("token-100"));
+        assertThat(OpaqueTokens.hash(OpaqueTokens.generate())).hasSize(32);
+    }
+}
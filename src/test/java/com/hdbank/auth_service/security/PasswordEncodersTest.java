@@ -0,0 +1,59 @@
+package com.hdbank.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncodersTest {
+
+    private static final String PASSWORD = "Password123";
+
+    @Test
+    void shouldMatchLegacyUnprefixedBcryptHashAndFlagItForUpgrade() {
+        PasswordEncoder encoder = delegating(PasswordEncoders.BCRYPT, 4);
+        String legacyHash = PasswordEncoders.bcrypt(4).encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    void shouldFlagLowerBcryptStrengthForUpgrade() {
+        String weakHash = delegating(PasswordEncoders.BCRYPT, 4).encode(PASSWORD);
+        PasswordEncoder stronger = delegating(PasswordEncoders.BCRYPT, 5);
+
+        assertThat(stronger.matches(PASSWORD, weakHash)).isTrue();
+        assertThat(stronger.upgradeEncoding(weakHash)).isTrue();
+        assertThat(stronger.upgradeEncoding(stronger.encode(PASSWORD))).isFalse();
+    }
+
+    @Test
+    void shouldFlagOtherAlgorithmForUpgrade() {
+        String bcryptHash = delegating(PasswordEncoders.BCRYPT, 4).encode(PASSWORD);
+        PasswordEncoder pbkdf2 = delegating(PasswordEncoders.PBKDF2, 4);
+        String pbkdf2Hash = pbkdf2.encode(PASSWORD);
+
+        assertThat(pbkdf2Hash).startsWith("{pbkdf2}");
+        assertThat(pbkdf2.matches(PASSWORD, bcryptHash)).isTrue();
+        assertThat(pbkdf2.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(pbkdf2.upgradeEncoding(pbkdf2Hash)).isFalse();
+    }
+
+    @Test
+    void shouldRejectUnknownEncoderId() {
+        assertThatThrownBy(() -> delegating("md5", 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PasswordEncoder delegating(String idForEncode, int bcryptStrength) {
+        return PasswordEncoders.delegating(idForEncode, Map.of(
+                PasswordEncoders.BCRYPT, PasswordEncoders.bcrypt(bcryptStrength),
+                PasswordEncoders.ARGON2, PasswordEncoders.argon2(1024, 1, 1),
+                PasswordEncoders.PBKDF2, PasswordEncoders.pbkdf2(1000)
+        ));
+    }
+}
@@ -0,0 +1,135 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.entity.AppRole;
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitFilter")
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(
+                JwtKeyRing.of(JwtSigningKey.hmac(null, "test-secret-key-for-unit-tests-minimum-256-bits-long-string")),
+                3600000L,
+                meterRegistry
+        );
+        filter = filter(true);
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After without calling the chain")
+    void testRejectsOverLimit() throws Exception {
+        assertThat(perform(request("10.0.0.1", null)).getStatus()).isEqualTo(200);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("10.0.0.1", null), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(response.getContentAsString()).contains("\"success\":false", "/api/v1/auth/refresh");
+        assertThat(meterRegistry.counter("auth.rate-limit.rejected", "route", "default").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should key verified bearer requests by subject and the others by client ip")
+    void testPrincipal() throws Exception {
+        perform(request("10.0.0.1", null));
+
+        MockHttpServletRequest first = request("10.0.0.1", jwtService.generateAccessToken(user(1L, "alice")));
+        assertThat(perform(first).getStatus()).isEqualTo(200);
+        assertThat(first.getAttribute(RateLimitFilter.VERIFICATION_ATTRIBUTE)).isInstanceOf(JwtClaims.class);
+        // another token of the same user, from another ip: same bucket
+        assertThat(perform(request("10.0.0.2", jwtService.generateAccessToken(user(1L, "alice")))).getStatus())
+                .isEqualTo(429);
+        assertThat(perform(request("10.0.0.1", jwtService.generateAccessToken(user(2L, "bob")))).getStatus())
+                .isEqualTo(200);
+
+    }
+
+    @Test
+    @DisplayName("Should not open a new bucket for a forged X-Forwarded-For")
+    void testForgedForwardedHeaderSharesIpBucket() throws Exception {
+        assertThat(perform(request("10.0.0.1", null)).getStatus()).isEqualTo(200);
+
+        MockHttpServletRequest forged = request("10.0.0.1", null);
+        forged.addHeader("X-Forwarded-For", "203.0.113.7");
+        assertThat(filter.principal(forged)).isEqualTo("ip:10.0.0.1");
+        assertThat(perform(forged).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should put tokens that do not verify in their client ip bucket")
+    void testJunkTokensShareIpBucket() throws Exception {
+        MockHttpServletRequest junk = request("10.0.0.1", "header.payload.signature-one");
+        assertThat(perform(junk).getStatus()).isEqualTo(200);
+        assertThat(junk.getAttribute(RateLimitFilter.VERIFICATION_ATTRIBUTE)).isInstanceOf(RuntimeException.class);
+
+        assertThat(perform(request("10.0.0.1", "header.payload.signature-two")).getStatus()).isEqualTo(429);
+        assertThat(perform(request("10.0.0.1", "not-a-jwt")).getStatus()).isEqualTo(429);
+        assertThat(perform(request("10.0.0.1", null)).getStatus()).isEqualTo(429);
+        assertThat(perform(request("10.0.0.2", "header.payload.signature-three")).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("auth.rate-limit.rejected", "route", "default").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should let everything through when disabled")
+    void testDisabled() throws Exception {
+        filter = filter(false);
+
+        perform(request("10.0.0.1", null));
+        assertThat(perform(request("10.0.0.1", null)).getStatus()).isEqualTo(200);
+    }
+
+    private RateLimitFilter filter(boolean enabled) {
+        RateLimiter rateLimiter = new RateLimiter(1000, Duration.ofMinutes(10), RateLimitRules.parse(Map.of(
+                "default.capacity", "1",
+                "default.refill-per-second", "0.1"
+        )), System::nanoTime);
+        return new RateLimitFilter(rateLimiter, jwtService, new VerifiedTokenCache(false, 0, meterRegistry), meterRegistry, enabled);
+    }
+
+    private static AppUser user(Long id, String username) {
+        return AppUser.builder()
+                .id(id)
+                .username(username)
+                .roles(Set.of(AppRole.builder().id(1L).name("USER").build()))
+                .build();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String bearer) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/refresh");
+        request.setRemoteAddr(remoteAddr);
+        if (bearer != null) {
+            request.addHeader("Authorization", "Bearer " + bearer);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hdbank.auth_service.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RateLimiter")
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong nanos = new AtomicLong(-42 * SECOND);
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter(1000, Duration.ofMinutes(10), RateLimitRules.parse(Map.of(
+                "default.capacity", "100",
+                "default.refill-per-second", "100",
+                "routes.refresh.pattern", "/api/v1/auth/refresh",
+                "routes.refresh.capacity", "3",
+                "routes.refresh.refill-per-second", "1",
+                "routes.refresh.route-capacity", "5",
+                "routes.refresh.route-refill-per-second", "5"
+        )), nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should admit a burst of capacity, then one request per refill interval")
+    void testBurstThenRefill() {
+        RateLimitRules.Rule refresh = rateLimiter.match("/api/v1/auth/refresh");
+        assertThat(refresh.name()).isEqualTo("refresh");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.0.1")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.0.1")).isEqualTo(SECOND);
+
+        nanos.addAndGet(SECOND / 2);
+        assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.0.1")).isEqualTo(SECOND / 2);
+        nanos.addAndGet(SECOND / 2);
+        assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.0.1")).isZero();
+        assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.0.1")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep one bucket per principal and route")
+    void testBucketsPerPrincipalAndRoute() {
+        RateLimitRules.Rule refresh = rateLimiter.match("/api/v1/auth/refresh");
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(refresh, "ip:10.0.0.1");
+        }
+
+        assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.0.1")).isPositive();
+        assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.0.2")).isZero();
+        assertThat(rateLimiter.tryAcquire(rateLimiter.match("/api/v1/auth/me"), "ip:10.0.0.1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cap the route across every principal")
+    void testRouteLimit() {
+        RateLimitRules.Rule refresh = rateLimiter.match("/api/v1/auth/refresh");
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.1." + i)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(refresh, "ip:10.0.2.1")).isEqualTo(SECOND / 5);
+    }
+
+    @Test
+    @DisplayName("Should apply replaced rules to existing buckets")
+    void testReplaceRules() {
+        RateLimitRules.Rule refresh = rateLimiter.match("/api/v1/auth/refresh");
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(refresh, "ip:10.0.0.1");
+        }
+
+        rateLimiter.replaceRules(RateLimitRules.parse(Map.of(
+                "default.capacity", "100",
+                "default.refill-per-second", "100",
+                "routes.refresh.pattern", "/api/v1/auth/refresh",
+                "routes.refresh.capacity", "10",
+                "routes.refresh.refill-per-second", "1"
+        )));
+
+        RateLimitRules.Rule raised = rateLimiter.match("/api/v1/auth/refresh");
+        assertThat(raised.perRoute()).isNull();
+        for (int i = 0; i < 7; i++) {
+            assertThat(rateLimiter.tryAcquire(raised, "ip:10.0.0.1")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(raised, "ip:10.0.0.1")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should load rules from a file and reject incomplete ones")
+    void testLoadRules() throws IOException {
+        Path file = Files.createTempFile("rate-limits", ".properties");
+        try {
+            Files.writeString(file, """
+                    default.capacity=50
+                    default.refill-per-second=0.5
+                    routes.b-me.pattern=/api/v1/auth/me
+                    routes.b-me.capacity=2
+                    routes.b-me.refill-per-second=2
+                    routes.a-auth.pattern=/api/v1/auth/**
+                    routes.a-auth.capacity=4
+                    routes.a-auth.refill-per-second=4
+                    """);
+            RateLimitRules rules = RateLimitRules.load(file);
+
+            assertThat(rules.defaultRule().perPrincipal()).isEqualTo(new RateLimitRules.Limit(50, 2 * SECOND));
+            // first match in route name order
+            assertThat(rules.match("/api/v1/auth/me").name()).isEqualTo("a-auth");
+            assertThat(rules.match("/actuator/health").name()).isEqualTo("default");
+        } finally {
+            Files.delete(file);
+        }
+
+        assertThatThrownBy(() -> RateLimitRules.parse(Map.of("default.capacity", "10")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitRules.parse(Map.of(
+                "default.capacity", "10",
+                "default.refill-per-second", "10",
+                "routes.me.capacity", "1",
+                "routes.me.refill-per-second", "1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
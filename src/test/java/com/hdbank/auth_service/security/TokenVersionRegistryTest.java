@@ -0,0 +1,78 @@
+package com.hdbank.auth_service.security;
+
+import com.hdbank.auth_service.repository.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+
+    private static final Duration LIFETIME = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private AppUserRepository userRepository;
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(AppUserRepository.class);
+        registry = new TokenVersionRegistry(
+                userRepository, LIFETIME, Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldAcceptAnyVersionForUnchangedUsers() {
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+        assertThat(registry.isCurrent(null, 0)).isTrue();
+    }
+
+    @Test
+    void shouldRejectTokensMintedBeforeVersionChange() {
+        registry.onTokenVersionChanged(new TokenVersionChange(1L, 2, NOW));
+
+        assertThat(registry.isCurrent(1L, 1)).isFalse();
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+        assertThat(registry.isCurrent(2L, 0)).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreLowerVersionsAndChangesOlderThanTokenLifetime() {
+        registry.onTokenVersionChanged(new TokenVersionChange(1L, 3, NOW));
+        registry.onTokenVersionChanged(new TokenVersionChange(1L, 2, NOW));
+        registry.onTokenVersionChanged(new TokenVersionChange(2L, 5, NOW.minus(LIFETIME).minusSeconds(1)));
+
+        assertThat(registry.isCurrent(1L, 2)).isFalse();
+        assertThat(registry.isCurrent(2L, 0)).isTrue();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadChangesMadeByOtherInstances() {
+        when(userRepository.findTokenVersionChangesSince(any(Instant.class))).thenReturn(
+                LongStream.rangeClosed(1, 1000)
+                        .mapToObj(id -> new TokenVersionChange(id, 1, NOW.minusSeconds(id)))
+                        .toList());
+
+        registry.refresh();
+
+        assertThat(registry.size()).isEqualTo(1000);
+        assertThat(LongStream.rangeClosed(1, 1000)).allMatch(id -> !registry.isCurrent(id, 0));
+        assertThat(registry.isCurrent(1001L, 0)).isTrue();
+
+        when(userRepository.findTokenVersionChangesSince(any(Instant.class))).thenReturn(List.of());
+        registry.refresh();
+
+        assertThat(registry.size()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,98 @@
+package com.hdbank.auth_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Function<String, JwtClaims> verifierExpiringAt(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new JwtClaims("jti-1", 1L, "testuser", List.of("ROLE_USER"), 0, expiresAt);
+        };
+    }
+
+    @Test
+    void shouldServeRepeatedTokenFromCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+        Function<String, JwtClaims> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        JwtClaims first = cache.get("token-a", verifier);
+        JwtClaims second = cache.get("token-a", verifier);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(verifications).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldVerifyEveryTimeWhenDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 100, meterRegistry);
+        Function<String, JwtClaims> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        cache.get("token-a", verifier);
+        cache.get("token-a", verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void shouldNotServeEntryPastTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+        Function<String, JwtClaims> verifier = verifierExpiringAt(Instant.now().minusSeconds(1));
+
+        cache.get("token-a", verifier);
+        cache.get("token-a", verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheVerificationFailures() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+        Function<String, JwtClaims> failing = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+
+        assertThatThrownBy(() -> cache.get("token-a", failing)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get("token-a", failing)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldReverifyAfterInvalidateAll() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+        Function<String, JwtClaims> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        cache.get("token-a", verifier);
+        cache.invalidateAll();
+        cache.get("token-a", verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", "jwt.verification", "result", result)
+                .functionCounter()
+                .count();
+    }
+}
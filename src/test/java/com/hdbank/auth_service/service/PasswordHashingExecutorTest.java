@@ -0,0 +1,120 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.exception.ServiceOverloadedException;
+import com.hdbank.auth_service.security.HashingPoolPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, Duration.ofMillis(500), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRunTaskOnHashingPool() throws Exception {
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertThat(threadName).startsWith("password-hashing-");
+        assertThat(meterRegistry.get("auth.password.hashing.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWaitForResultAndRethrowTaskException() {
+        assertThat(executor.call(() -> Thread.currentThread().getName())).startsWith("password-hashing-");
+        assertThatThrownBy(() -> executor.call(() -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    }
+
+    @Test
+    void shouldHashOnPoolThroughPasswordEncoder() {
+        AtomicReference<String> hashingThread = new AtomicReference<>();
+        PasswordEncoder encoder = new HashingPoolPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        }, executor);
+
+        assertThat(encoder.matches("secret", encoder.encode("secret"))).isTrue();
+        assertThat(hashingThread.get()).startsWith("password-hashing-");
+        assertThat(meterRegistry.get("auth.password.hashing.duration").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            return await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+        assertThatThrownBy(() -> executor.submit(() -> true))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(meterRegistry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxWaitAndSkipTheQueuedTask() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            return await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AtomicBoolean queuedRan = new AtomicBoolean();
+
+        assertThatThrownBy(() -> executor.call(() -> {
+            queuedRan.set(true);
+            return true;
+        })).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(meterRegistry.get("auth.password.hashing.timeout").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        // the next task runs after the timed out one left the queue
+        assertThat(executor.call(() -> true)).isTrue();
+        assertThat(queuedRan).isFalse();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
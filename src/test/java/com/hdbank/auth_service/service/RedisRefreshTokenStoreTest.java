@@ -0,0 +1,117 @@
+package com.hdbank.auth_service.service;
+
+import com.hdbank.auth_service.entity.AppUser;
+import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Lua scripts against a throwaway Redis. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRefreshTokenStoreTest {
+
+    private static final long TTL_MILLIS = 60_000;
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisRefreshTokenStore store;
+    private AppUser user;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        store = new RedisRefreshTokenStore(redisTemplate, TTL_MILLIS, "test:refresh:");
+        user = AppUser.builder().id(42L).username("testuser").build();
+    }
+
+    @Test
+    void shouldIssueTokenWithTtlWithoutStoringRawToken() {
+        String token = store.issueRefreshToken(user, "192.168.1.1", "Mozilla/5.0");
+
+        Set<String> keys = redisTemplate.keys("test:refresh:token:*");
+        assertThat(keys).hasSize(1).noneMatch(key -> key.contains(token));
+        String key = keys.iterator().next();
+        assertThat(redisTemplate.opsForValue().get(key)).isEqualTo("42");
+        assertThat(redisTemplate.getExpire(key)).isPositive().isLessThanOrEqualTo(TTL_MILLIS / 1000);
+    }
+
+    @Test
+    void shouldRetireOtherTokensOnIssue() {
+        String first = store.issueRefreshToken(user, null, null);
+        String second = store.issueRefreshToken(user, null, null);
+
+        assertThatThrownBy(() -> store.rotateRefreshToken(first, null, null))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(store.rotateRefreshToken(second, null, null).userId()).isEqualTo(42L);
+    }
+
+    @Test
+    void shouldRotateTokenOnlyOnce() {
+        String token = store.issueRefreshToken(user, null, null);
+
+        RefreshTokenStore.Rotation rotation = store.rotateRefreshToken(token, null, null);
+
+        assertThat(rotation.userId()).isEqualTo(42L);
+        assertThat(rotation.token()).isNotEqualTo(token);
+        assertThatThrownBy(() -> store.rotateRefreshToken(token, null, null))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(store.rotateRefreshToken(rotation.token(), null, null).userId()).isEqualTo(42L);
+    }
+
+    @Test
+    void shouldRevokeToken() {
+        String token = store.issueRefreshToken(user, null, null);
+
+        store.revokeRefreshToken(token);
+
+        assertThatThrownBy(() -> store.rotateRefreshToken(token, null, null))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> store.revokeRefreshToken(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void shouldRevokeAllTokensOfUser() {
+        String token = store.issueRefreshToken(user, null, null);
+
+        store.revokeAllByUserId(42L);
+
+        assertThatThrownBy(() -> store.rotateRefreshToken(token, null, null))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(redisTemplate.keys("test:refresh:*")).isEmpty();
+    }
+}
@@ -2,7 +2,9 @@ package com.hdbank.auth_service.service;
 
 import com.hdbank.auth_service.entity.AppUser;
 import com.hdbank.auth_service.entity.RefreshToken;
+import com.hdbank.auth_service.exception.InvalidRefreshTokenException;
 import com.hdbank.auth_service.repository.RefreshTokenRepository;
+import com.hdbank.auth_service.security.OpaqueTokens;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,11 +14,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +59,7 @@ class RefreshTokenServiceTest {
         assertThat(refreshToken).isNotNull();
         assertThat(refreshToken.getUser()).isEqualTo(testUser);
         assertThat(refreshToken.getToken()).isNotNull();
+        assertThat(refreshToken.getTokenHash()).isEqualTo(OpaqueTokens.hash(refreshToken.getToken()));
         assertThat(refreshToken.getIpAddress()).isEqualTo("192.168.1.1");
         assertThat(refreshToken.getUserAgent()).isEqualTo("Mozilla/5.0");
         assertThat(refreshToken.isRevoked()).isFalse();
@@ -69,7 +77,7 @@ class RefreshTokenServiceTest {
                 .revoked(false)
                 .build();
 
-        when(refreshTokenRepository.findByTokenAndDeletedFalse("valid-token"))
+        when(refreshTokenRepository.findByTokenHashAndDeletedFalse(aryEq(OpaqueTokens.hash("valid-token"))))
                 .thenReturn(Optional.of(validToken));
 
         RefreshToken result = refreshTokenService.verifyRefreshToken("valid-token");
@@ -88,7 +96,7 @@ class RefreshTokenServiceTest {
                 .revoked(false)
                 .build();
 
-        when(refreshTokenRepository.findByTokenAndDeletedFalse("expired-token"))
+        when(refreshTokenRepository.findByTokenHashAndDeletedFalse(aryEq(OpaqueTokens.hash("expired-token"))))
                 .thenReturn(Optional.of(expiredToken));
 
         assertThatThrownBy(() -> refreshTokenService.verifyRefreshToken("expired-token"))
@@ -108,7 +116,7 @@ class RefreshTokenServiceTest {
                 .revokedAt(Instant.now())
                 .build();
 
-        when(refreshTokenRepository.findByTokenAndDeletedFalse("revoked-token"))
+        when(refreshTokenRepository.findByTokenHashAndDeletedFalse(aryEq(OpaqueTokens.hash("revoked-token"))))
                 .thenReturn(Optional.of(revokedToken));
 
         assertThatThrownBy(() -> refreshTokenService.verifyRefreshToken("revoked-token"))
@@ -127,7 +135,7 @@ class RefreshTokenServiceTest {
                 .revoked(false)
                 .build();
 
-        when(refreshTokenRepository.findByTokenAndDeletedFalse("token-to-revoke"))
+        when(refreshTokenRepository.findByTokenHashAndDeletedFalse(aryEq(OpaqueTokens.hash("token-to-revoke"))))
                 .thenReturn(Optional.of(token));
         when(refreshTokenRepository.save(any(RefreshToken.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
@@ -138,4 +146,65 @@ class RefreshTokenServiceTest {
         assertThat(token.getRevokedAt()).isNotNull();
         verify(refreshTokenRepository).save(token);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRevokeAllTokensOfUserInOneStatement() {
+        when(refreshTokenRepository.revokeByUserId(eq(1L), any(Instant.class), eq("SYSTEM")))
+                .thenReturn(3);
+
+        assertThat(refreshTokenService.revokeAllByUserId(1L)).isEqualTo(3);
+        verify(refreshTokenRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRevokeTokensOfManyUsersInBatches() {
+        List<Long> userIds = LongStream.rangeClosed(1, 2500).boxed().toList();
+        when(refreshTokenRepository.revokeByUserIds(anyList(), any(Instant.class), eq("SYSTEM")))
+                .thenReturn(10);
+
+        assertThat(refreshTokenService.revokeAllByUserIds(userIds)).isEqualTo(30);
+        verify(refreshTokenRepository, times(3)).revokeByUserIds(anyList(), any(Instant.class), eq("SYSTEM"));
+    }
+
+    @Test
+    void shouldRotateRefreshTokenWithSeparateStatements() {
+        when(refreshTokenRepository.findLiveUserIdByTokenHash(aryEq(OpaqueTokens.hash("old-token")), any(Instant.class)))
+                .thenReturn(Optional.of(1L));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotateRefreshToken(
+                "old-token", "192.168.1.1", "Mozilla/5.0"
+        );
+
+        assertThat(rotation.userId()).isEqualTo(1L);
+        assertThat(rotation.token()).isNotEqualTo("old-token");
+        verify(refreshTokenRepository).retireByUserId(eq(1L), aryEq(OpaqueTokens.hash("old-token")), any(Instant.class));
+        verify(refreshTokenRepository).insertForUser(
+                eq(1L), aryEq(OpaqueTokens.hash(rotation.token())), any(Instant.class), any(Instant.class),
+                eq("192.168.1.1"), eq("Mozilla/5.0"));
+    }
+
+    @Test
+    void shouldRotateRefreshTokenInSingleStatement() {
+        ReflectionTestUtils.setField(refreshTokenService, "singleStatementRotation", true);
+        when(refreshTokenRepository.rotate(aryEq(OpaqueTokens.hash("old-token")), any(byte[].class), any(Instant.class), any(Instant.class),
+                eq("192.168.1.1"), eq("Mozilla/5.0")))
+                .thenReturn(Optional.of(1L));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotateRefreshToken(
+                "old-token", "192.168.1.1", "Mozilla/5.0"
+        );
+
+        assertThat(rotation.userId()).isEqualTo(1L);
+        verify(refreshTokenRepository, never()).findLiveUserIdByTokenHash(any(byte[].class), any(Instant.class));
+    }
+
+    @Test
+    void shouldRejectRotationOfUnknownToken() {
+        when(refreshTokenRepository.findLiveUserIdByTokenHash(aryEq(OpaqueTokens.hash("unknown-token")), any(Instant.class)))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken("unknown-token", null, null))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        verify(refreshTokenRepository, never()).insertForUser(any(), any(), any(), any(), any(), any());
+    }
+}